@@ -0,0 +1,74 @@
+// src/jmh/java/com/echo/app/BenchmarkData.java
+
+package com.echo.app;
+
+import com.echo.app.model.Note;
+import com.echo.app.model.NoteMeta;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import org.bson.types.ObjectId;
+
+/**
+ * Representative inputs shared by the benchmarks.
+ */
+public final class BenchmarkData {
+
+  /** A typical plain-text note. */
+  public static final String PLAIN_MESSAGE =
+    "  Left this here for whoever reads it next. Hope your day goes well, " +
+    "and thanks for stopping by!  ";
+
+  /** A note with markup, entities and a script that must be stripped. */
+  public static final String MARKUP_MESSAGE =
+    "  <b>Hello</b> & welcome <i>friend</i> — see <a href=\"https://x\">" +
+    "this</a><script>alert('x')</script> <3  ";
+
+  /** A long plain-text note near the 500 character limit. */
+  public static final String LONG_MESSAGE = "echo ".repeat(99);
+
+  private static final String USER_AGENT =
+    "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) " +
+    "Chrome/126.0 Safari/537.36";
+
+  private BenchmarkData() {}
+
+  /**
+   * Returns a sample of IPv4 and IPv6 client addresses.
+   *
+   * @param count the number of addresses
+   * @return distinct client addresses
+   */
+  public static String[] ipAddresses(int count) {
+    String[] ips = new String[count];
+    for (int i = 0; i < count; i++) {
+      ips[i] = i % 4 == 0
+        ? "2001:db8::" + Integer.toHexString(i)
+        : "10." + ((i >> 16) & 0xff) + "." + ((i >> 8) & 0xff) + "." + (i & 0xff);
+    }
+    return ips;
+  }
+
+  /**
+   * Returns saved-looking notes, newest first.
+   *
+   * @param count the number of notes
+   * @return notes with IDs, timestamps and metadata
+   */
+  public static List<Note> notes(int count) {
+    Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    List<Note> notes = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      Note note = new Note();
+      note.setId(new ObjectId().toHexString());
+      note.setMessage(i % 2 == 0 ? PLAIN_MESSAGE.trim() : LONG_MESSAGE.trim());
+      note.setAuthor(i % 3 == 0 ? null : "visitor " + i);
+      note.setCreatedAt(now.minusSeconds(i));
+      note.setIpHash("0123456789abcdef".repeat(4));
+      note.setMeta(new NoteMeta(USER_AGENT, null));
+      notes.add(note);
+    }
+    return notes;
+  }
+}
@@ -0,0 +1,75 @@
+// src/jmh/java/com/echo/app/dto/NoteResponseBenchmark.java
+
+package com.echo.app.dto;
+
+import com.echo.app.BenchmarkData;
+import com.echo.app.model.Note;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Cost of mapping entities to responses and serializing a page of them with
+ * an object mapper configured like Spring Boot's.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NoteResponseBenchmark {
+
+  @Param({ "20", "100" })
+  public int pageSize;
+
+  private ObjectMapper objectMapper;
+  private Note note;
+  private List<Note> notes;
+  private PagedResponse<NoteResponse> page;
+
+  @Setup
+  public void setUp() {
+    objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    notes = BenchmarkData.notes(pageSize);
+    note = notes.get(0);
+    page = new PagedResponse<>(0, pageSize, 50, 1000, mapAll());
+  }
+
+  @Benchmark
+  public NoteResponse fromEntity() {
+    return NoteResponse.fromEntity(note);
+  }
+
+  @Benchmark
+  public List<NoteResponse> fromEntityPage() {
+    return mapAll();
+  }
+
+  @Benchmark
+  public byte[] serializePage() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(page);
+  }
+
+  private List<NoteResponse> mapAll() {
+    List<NoteResponse> items = new ArrayList<>(notes.size());
+    for (Note entity : notes) {
+      items.add(NoteResponse.fromEntity(entity));
+    }
+    return items;
+  }
+}
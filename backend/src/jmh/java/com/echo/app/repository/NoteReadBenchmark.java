@@ -0,0 +1,131 @@
+// src/jmh/java/com/echo/app/repository/NoteReadBenchmark.java
+
+package com.echo.app.repository;
+
+import com.echo.app.BenchmarkData;
+import com.echo.app.dto.NoteResponse;
+import com.echo.app.model.Note;
+import com.echo.app.model.NoteView;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.bson.BsonBinaryReader;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+/**
+ * Cost of turning a page of documents as received from MongoDB into
+ * responses: full {@link Note} entities versus the projected
+ * {@link NoteView} read model. The setup prints the BSON bytes per page for
+ * both shapes; run with {@code -prof gc} to compare allocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NoteReadBenchmark {
+
+  private static final List<String> VIEW_FIELDS = List.of(
+    "_id",
+    "message",
+    "author",
+    "createdAt"
+  );
+
+  @Param({ "20", "100" })
+  public int pageSize;
+
+  private final DocumentCodec codec = new DocumentCodec();
+  private MappingMongoConverter converter;
+  private List<byte[]> fullDocuments;
+  private List<byte[]> viewDocuments;
+
+  @Setup
+  public void setUp() {
+    // Configured like Spring Boot's, which registers java.time as simple types.
+    MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+    MongoMappingContext mappingContext = new MongoMappingContext();
+    mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+    converter = new MappingMongoConverter(
+      NoOpDbRefResolver.INSTANCE,
+      mappingContext
+    );
+    converter.setCustomConversions(conversions);
+    converter.afterPropertiesSet();
+
+    fullDocuments = new ArrayList<>(pageSize);
+    viewDocuments = new ArrayList<>(pageSize);
+    long fullBytes = 0;
+    long viewBytes = 0;
+    for (Note note : BenchmarkData.notes(pageSize)) {
+      Document full = new Document();
+      converter.write(note, full);
+      Document view = new Document();
+      VIEW_FIELDS.forEach(field -> view.put(field, full.get(field)));
+      fullDocuments.add(toBson(full));
+      viewDocuments.add(toBson(view));
+      fullBytes += fullDocuments.get(fullDocuments.size() - 1).length;
+      viewBytes += viewDocuments.get(viewDocuments.size() - 1).length;
+    }
+    System.out.printf(
+      "BSON bytes per page of %d: entity %d, view %d%n",
+      pageSize,
+      fullBytes,
+      viewBytes
+    );
+  }
+
+  @Benchmark
+  public List<NoteResponse> entity() {
+    List<NoteResponse> responses = new ArrayList<>(pageSize);
+    for (byte[] bson : fullDocuments) {
+      Note note = converter.read(Note.class, decode(bson));
+      responses.add(NoteResponse.fromEntity(note));
+    }
+    return responses;
+  }
+
+  @Benchmark
+  public List<NoteResponse> view() {
+    List<NoteResponse> responses = new ArrayList<>(pageSize);
+    for (byte[] bson : viewDocuments) {
+      NoteView view = converter.read(NoteView.class, decode(bson));
+      responses.add(NoteResponse.fromView(view));
+    }
+    return responses;
+  }
+
+  private byte[] toBson(Document document) {
+    RawBsonDocument raw = new RawBsonDocument(document, codec);
+    ByteBuffer buffer = raw.getByteBuffer().asNIO();
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  private Document decode(byte[] bson) {
+    try (BsonBinaryReader reader = new BsonBinaryReader(ByteBuffer.wrap(bson))) {
+      return codec.decode(reader, DecoderContext.builder().build());
+    }
+  }
+}
@@ -0,0 +1,73 @@
+// src/jmh/java/com/echo/app/service/CompressionBenchmark.java
+
+package com.echo.app.service;
+
+import com.echo.app.BenchmarkData;
+import com.echo.app.dto.NoteResponse;
+import com.echo.app.dto.PagedResponse;
+import com.echo.app.model.Note;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Cost of gzip-compressing a serialized page of notes, which a cached page
+ * pays once and an on-the-fly compressed response pays on every request.
+ * Level 1 is roughly what a server compresses with per request, level 9 is
+ * what cached pages are stored at.
+ *
+ * <p>The setup prints the identity and compressed sizes of the page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompressionBenchmark {
+
+  @Param({ "20", "100" })
+  public int pageSize;
+
+  @Param({ "1", "6", "9" })
+  public int level;
+
+  private byte[] page;
+
+  @Setup
+  public void setUp() throws Exception {
+    ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    List<NoteResponse> items = new ArrayList<>(pageSize);
+    for (Note note : BenchmarkData.notes(pageSize)) {
+      items.add(NoteResponse.fromEntity(note));
+    }
+    page = objectMapper.writeValueAsBytes(
+      new PagedResponse<>(0, pageSize, 50, 1000, items)
+    );
+    System.out.printf(
+      "%nPage of %d notes: %d bytes, %d bytes gzipped at level %d%n",
+      pageSize,
+      page.length,
+      NoteJsonCache.gzip(page, level).length,
+      level
+    );
+  }
+
+  @Benchmark
+  public byte[] gzip() {
+    return NoteJsonCache.gzip(page, level);
+  }
+}
@@ -0,0 +1,98 @@
+// src/jmh/java/com/echo/app/service/IpHasherBenchmark.java
+
+package com.echo.app.service;
+
+import com.echo.app.BenchmarkData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of hashing a client IP: the original per-call implementation, the
+ * pooled digest path, and the cached path over a working set of addresses.
+ * Run with {@code -prof gc} to compare allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class IpHasherBenchmark {
+
+  private static final String SALT = "benchmark-salt";
+
+  @Param({ "1024", "1048576" })
+  public int addresses;
+
+  private IpHasher ipHasher;
+  private String[] ips;
+
+  @Setup
+  public void setUp() {
+    ipHasher = new IpHasher(SALT, 10_000, new SimpleMeterRegistry());
+    ips = BenchmarkData.ipAddresses(addresses);
+    for (String ip : ips) {
+      if (!ipHasher.computeHash(ip).equals(legacyHash(ip))) {
+        throw new IllegalStateException("Hash differs for " + ip);
+      }
+    }
+  }
+
+  @Benchmark
+  public String legacy(Cursor cursor) {
+    return legacyHash(ips[cursor.next(addresses)]);
+  }
+
+  @Benchmark
+  public String pooled(Cursor cursor) {
+    return ipHasher.computeHash(ips[cursor.next(addresses)]);
+  }
+
+  @Benchmark
+  public String cached(Cursor cursor) {
+    return ipHasher.hash(ips[cursor.next(addresses)]);
+  }
+
+  // The implementation before digests were pooled and results cached.
+  private static String legacyHash(String ip) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      String toHash = ip + SALT;
+      byte[] hash = digest.digest(toHash.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException("SHA-256 not available", e);
+    }
+  }
+
+  /**
+   * Per-thread position in the address list.
+   */
+  @State(Scope.Thread)
+  public static class Cursor {
+
+    private int position;
+
+    int next(int bound) {
+      position = (position + 1) % bound;
+      return position;
+    }
+  }
+}
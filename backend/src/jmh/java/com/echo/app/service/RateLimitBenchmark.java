@@ -0,0 +1,99 @@
+// src/jmh/java/com/echo/app/service/RateLimitBenchmark.java
+
+package com.echo.app.service;
+
+import com.echo.app.BenchmarkData;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * Throughput of {@link RateLimitService#tryConsume} with eight threads
+ * competing. A single key measures contention on one bucket; many keys
+ * measure bucket creation and cache pressure.
+ *
+ * <p>The {@code mongo} mode needs a running MongoDB at
+ * {@code -Decho.benchmark.mongo-uri} (default {@code localhost:27017}) and is
+ * opted into with {@code -p mode=memory,mongo}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class RateLimitBenchmark {
+
+  @Param({ "memory" })
+  public String mode;
+
+  @Param({ "1", "100000" })
+  public int keys;
+
+  @Param({ "5", "1000000" })
+  public int limitPerMinute;
+
+  private RateLimitService rateLimitService;
+  private MongoClient mongoClient;
+  private String[] keyPool;
+
+  @Setup
+  public void setUp() {
+    keyPool = BenchmarkData.ipAddresses(keys);
+    if ("mongo".equals(mode)) {
+      mongoClient = MongoClients.create(
+        System.getProperty("echo.benchmark.mongo-uri", "mongodb://localhost:27017")
+      );
+      MongoTemplate mongoTemplate = new MongoTemplate(
+        mongoClient,
+        "echo-benchmark"
+      );
+      mongoTemplate.dropCollection("rate_limits");
+      MongoRateLimitService service = new MongoRateLimitService(
+        mongoTemplate,
+        new SimpleMeterRegistry(),
+        limitPerMinute,
+        keys,
+        2
+      );
+      service.ensureTtlIndex();
+      rateLimitService = service;
+    } else {
+      rateLimitService = new InMemoryRateLimitService(
+        limitPerMinute,
+        keys,
+        new SimpleMeterRegistry()
+      );
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    if (mongoClient != null) {
+      mongoClient.close();
+    }
+  }
+
+  @Benchmark
+  public boolean tryConsume() {
+    String key = keyPool[ThreadLocalRandom.current().nextInt(keyPool.length)];
+    return rateLimitService.tryConsume(key);
+  }
+}
@@ -0,0 +1,57 @@
+// src/jmh/java/com/echo/app/service/SanitizeBenchmark.java
+
+package com.echo.app.service;
+
+import com.echo.app.BenchmarkData;
+import java.util.concurrent.TimeUnit;
+import org.jsoup.Jsoup;
+import org.jsoup.safety.Safelist;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of sanitizing note text, through the plain-text fast path and
+ * through Jsoup's simple-text cleaner alone. That both return the same text
+ * is checked by {@code NoteFactoryTest}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SanitizeBenchmark {
+
+  @Param({ "plain", "markup", "long" })
+  public String input;
+
+  private String text;
+
+  @Setup
+  public void setUp() {
+    text = switch (input) {
+      case "markup" -> BenchmarkData.MARKUP_MESSAGE;
+      case "long" -> BenchmarkData.LONG_MESSAGE;
+      default -> BenchmarkData.PLAIN_MESSAGE;
+    };
+  }
+
+  @Benchmark
+  public String sanitize() {
+    return NoteFactory.sanitize(text);
+  }
+
+  @Benchmark
+  public String jsoupClean() {
+    return Jsoup.clean(text.trim(), Safelist.simpleText());
+  }
+}
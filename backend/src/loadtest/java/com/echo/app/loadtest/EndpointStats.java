@@ -0,0 +1,96 @@
+// src/loadtest/java/com/echo/app/loadtest/EndpointStats.java
+
+package com.echo.app.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Latency and status counts of one endpoint, recorded concurrently by the
+ * load workers.
+ *
+ * <p>Latencies are recorded in microseconds into an HdrHistogram
+ * {@link Recorder} with three significant digits, so percentiles stay exact
+ * to 0.1% however long the run is.
+ */
+final class EndpointStats {
+
+  private final String name;
+  private final Recorder latencies = new Recorder(3);
+  private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+  private final LongAdder errors = new LongAdder();
+  private final LongAdder bytes = new LongAdder();
+
+  EndpointStats(String name) {
+    this.name = name;
+  }
+
+  String name() {
+    return name;
+  }
+
+  /**
+   * Records a completed request.
+   *
+   * @param status       the HTTP status code
+   * @param elapsedNanos the time from sending the request to reading the
+   *                     whole response
+   * @param bodyBytes    the response body size as sent, before decoding
+   */
+  void record(int status, long elapsedNanos, int bodyBytes) {
+    long micros = TimeUnit.NANOSECONDS.toMicros(elapsedNanos);
+    latencies.recordValue(Math.max(micros, 1));
+    statuses.computeIfAbsent(status, code -> new LongAdder()).increment();
+    bytes.add(bodyBytes);
+  }
+
+  /**
+   * Records a request that failed without a response.
+   */
+  void recordError() {
+    errors.increment();
+  }
+
+  /**
+   * Discards everything recorded so far, at the end of the warmup.
+   */
+  void reset() {
+    latencies.reset();
+    statuses.clear();
+    errors.reset();
+    bytes.reset();
+  }
+
+  /**
+   * Returns the latencies recorded since the last reset.
+   *
+   * @return the latency histogram in microseconds
+   */
+  Histogram latencies() {
+    return latencies.getIntervalHistogram();
+  }
+
+  /**
+   * Returns the response count per status code, in code order.
+   *
+   * @return the status counts
+   */
+  Map<Integer, Long> statuses() {
+    Map<Integer, Long> counts = new TreeMap<>();
+    statuses.forEach((status, count) -> counts.put(status, count.sum()));
+    return counts;
+  }
+
+  long errors() {
+    return errors.sum();
+  }
+
+  long bytes() {
+    return bytes.sum();
+  }
+}
@@ -0,0 +1,622 @@
+// src/loadtest/java/com/echo/app/loadtest/LoadTest.java
+
+package com.echo.app.loadtest;
+
+import com.echo.app.EchoApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * End-to-end load test of the notes API.
+ *
+ * <p>Boots the application in-process against MongoDB (a throwaway
+ * Testcontainers instance by default, or an existing one), or against the
+ * embedded note log when asked for, seeds it with notes,
+ * then drives a fixed mix of list, get and create requests from a fixed
+ * number of closed-loop workers. Creates come from a pool of distinct
+ * {@code X-Forwarded-For} addresses so the rate limiter sees realistic key
+ * churn. After a warmup, per-endpoint throughput, status counts and latency
+ * percentiles are recorded and written as JSON, with the full HdrHistogram
+ * distribution of each endpoint alongside. Response body bytes are counted
+ * as sent, so runs with and without {@code --accept-encoding=gzip} show
+ * what compression saves.
+ *
+ * <p>Workers draw from seeded random generators, so a given configuration
+ * issues the same request sequence on every run and results are comparable
+ * across commits. Latency is measured per request in a closed loop, so it
+ * does not include time a request would have queued under an open arrival
+ * rate.
+ *
+ * <p>Options are passed as {@code --name=value}; unknown options are passed
+ * on to the application, e.g. {@code --echo.rate-limit-per-minute=60}.
+ */
+public final class LoadTest {
+
+  private static final String NOTES_PATH = "/api/v1/notes";
+  private static final String USER_AGENT = "echo-loadtest";
+  private static final int LIST_PAGE_SIZE = 20;
+  private static final int MAX_CREATED_IDS = 10_000;
+
+  private final Options options;
+  private final URI baseUri;
+  private final HttpClient client;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final Map<Operation, EndpointStats> stats = new EnumMap<>(
+    Operation.class
+  );
+  private final String[] ips;
+  private volatile boolean running = true;
+
+  private LoadTest(Options options, URI baseUri) {
+    this.options = options;
+    this.baseUri = baseUri;
+    this.client = HttpClient.newBuilder()
+      .version(
+        options.http2()
+          ? HttpClient.Version.HTTP_2
+          : HttpClient.Version.HTTP_1_1
+      )
+      .connectTimeout(Duration.ofSeconds(5))
+      .executor(Executors.newVirtualThreadPerTaskExecutor())
+      .build();
+    for (Operation operation : Operation.values()) {
+      stats.put(operation, new EndpointStats(operation.label));
+    }
+    this.ips = new String[options.ips()];
+    for (int i = 0; i < ips.length; i++) {
+      ips[i] = clientIp(i);
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    Options options = Options.parse(args);
+    ConfigurableApplicationContext app = null;
+    MongoDBContainer mongo = null;
+    Path dataDir = null;
+    URI baseUri;
+    if (options.target() != null) {
+      baseUri = URI.create(options.target());
+    } else {
+      // System properties rank above the application's config files, which
+      // set all of these, and below options passed on to the application.
+      System.setProperty("server.port", "0");
+      System.setProperty("logging.level.com.echo.app", "WARN");
+      SpringApplicationBuilder builder = new SpringApplicationBuilder(
+        EchoApplication.class
+      );
+      switch (options.store()) {
+        case "container" -> {
+          mongo = new MongoDBContainer(
+            DockerImageName.parse(options.mongoImage())
+          );
+          mongo.start();
+          System.setProperty(
+            "spring.data.mongodb.uri",
+            mongo.getReplicaSetUrl("echo_loadtest")
+          );
+        }
+        case "mongo" -> System.setProperty(
+          "spring.data.mongodb.uri",
+          options.mongoUri()
+        );
+        default -> {
+          dataDir = Files.createTempDirectory("echo-loadtest");
+          System.setProperty("echo.embedded.data-dir", dataDir.toString());
+          builder.profiles("embedded");
+        }
+      }
+      try {
+        app = builder.run(options.appArgs());
+      } catch (RuntimeException e) {
+        if (mongo != null) {
+          mongo.stop();
+        }
+        throw e;
+      }
+      int port = app
+        .getEnvironment()
+        .getRequiredProperty("local.server.port", Integer.class);
+      baseUri = URI.create("http://localhost:" + port);
+    }
+    try {
+      new LoadTest(options, baseUri).run();
+    } finally {
+      if (app != null) {
+        app.close();
+      }
+      if (mongo != null) {
+        mongo.stop();
+      }
+      if (dataDir != null) {
+        deleteRecursively(dataDir);
+      }
+    }
+  }
+
+  private void run() throws Exception {
+    System.out.printf(
+      "Load test against %s: %d workers, %s warmup, %s measured%n",
+      baseUri,
+      options.concurrency(),
+      options.warmup(),
+      options.duration()
+    );
+    String[] seeded = seed();
+    System.out.printf("Seeded %d notes%n", seeded.length);
+
+    long measuredNanos;
+    try (
+      ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()
+    ) {
+      for (int i = 0; i < options.concurrency(); i++) {
+        int worker = i;
+        workers.submit(() -> work(worker, seeded));
+      }
+      Thread.sleep(options.warmup().toMillis());
+      stats.values().forEach(EndpointStats::reset);
+      long started = System.nanoTime();
+      Thread.sleep(options.duration().toMillis());
+      running = false;
+      measuredNanos = System.nanoTime() - started;
+    }
+    report(measuredNanos / 1e9);
+  }
+
+  // Seed notes come from their own addresses, one per note, so seeding is
+  // never rate limited and does not touch the buckets used by the workers.
+  private String[] seed() throws InterruptedException {
+    List<String> ids = new ArrayList<>(options.seedNotes());
+    AtomicInteger next = new AtomicInteger();
+    try (
+      ExecutorService seeders = Executors.newVirtualThreadPerTaskExecutor()
+    ) {
+      for (int i = 0; i < options.concurrency(); i++) {
+        Random random = new Random(options.seed() - i - 1);
+        seeders.submit(() -> {
+          int index;
+          while ((index = next.getAndIncrement()) < options.seedNotes()) {
+            String ip = "fd00::" + Integer.toHexString(index + 1);
+            try {
+              HttpResponse<byte[]> response = client.send(
+                create(random, ip),
+                HttpResponse.BodyHandlers.ofByteArray()
+              );
+              if (response.statusCode() == 201) {
+                String id = idOf(response);
+                synchronized (ids) {
+                  ids.add(id);
+                }
+              }
+            } catch (IOException e) {
+              System.err.println("Seeding failed: " + e.getMessage());
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+              return;
+            }
+          }
+        });
+      }
+    }
+    // Sorted so the get mix does not depend on seeding completion order.
+    return ids.stream().sorted().toArray(String[]::new);
+  }
+
+  private void work(int worker, String[] seeded) {
+    Random random = new Random(options.seed() + worker);
+    List<String> created = new ArrayList<>();
+    while (running) {
+      Operation operation = options.pick(random);
+      HttpRequest request = switch (operation) {
+        case LIST -> list(random);
+        case GET -> get(random, seeded, created);
+        case CREATE -> create(random, ips[random.nextInt(ips.length)]);
+      };
+      if (request == null) {
+        continue;
+      }
+      EndpointStats endpoint = stats.get(operation);
+      try {
+        long started = System.nanoTime();
+        HttpResponse<byte[]> response = client.send(
+          request,
+          HttpResponse.BodyHandlers.ofByteArray()
+        );
+        endpoint.record(
+          response.statusCode(),
+          System.nanoTime() - started,
+          response.body().length
+        );
+        if (operation == Operation.CREATE && response.statusCode() == 201) {
+          if (created.size() == MAX_CREATED_IDS) {
+            created.set(random.nextInt(MAX_CREATED_IDS), idOf(response));
+          } else {
+            created.add(idOf(response));
+          }
+        }
+      } catch (IOException e) {
+        endpoint.recordError();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  // Most reads hit the first page, which the feed cache serves; the rest
+  // spread over the next few pages.
+  private HttpRequest list(Random random) {
+    int page = random.nextInt(10) < 8 ? 0 : 1 + random.nextInt(9);
+    return request(
+      NOTES_PATH + "?page=" + page + "&size=" + LIST_PAGE_SIZE
+    ).build();
+  }
+
+  private HttpRequest get(
+    Random random,
+    String[] seeded,
+    List<String> created
+  ) {
+    int known = seeded.length + created.size();
+    if (known == 0) {
+      return null;
+    }
+    int index = random.nextInt(known);
+    String id = index < seeded.length
+      ? seeded[index]
+      : created.get(index - seeded.length);
+    return request(NOTES_PATH + "/" + id).build();
+  }
+
+  private HttpRequest create(Random random, String ip) {
+    ObjectNode body = objectMapper.createObjectNode();
+    body.put("message", message(random));
+    if (random.nextBoolean()) {
+      body.put("author", word(random) + " " + word(random));
+    }
+    return request(NOTES_PATH)
+      .header("Content-Type", "application/json")
+      .header("X-Forwarded-For", ip)
+      .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+      .build();
+  }
+
+  private HttpRequest.Builder request(String path) {
+    HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve(path))
+      .timeout(Duration.ofSeconds(30))
+      .header("User-Agent", USER_AGENT);
+    if (!options.acceptEncoding().isEmpty()) {
+      request.header("Accept-Encoding", options.acceptEncoding());
+    }
+    return request;
+  }
+
+  private String idOf(HttpResponse<byte[]> response) throws IOException {
+    boolean gzip = response
+      .headers()
+      .firstValue("Content-Encoding")
+      .filter("gzip"::equalsIgnoreCase)
+      .isPresent();
+    JsonNode note = gzip
+      ? objectMapper.readTree(
+        new GZIPInputStream(new ByteArrayInputStream(response.body()))
+      )
+      : objectMapper.readTree(response.body());
+    return note.path("id").asText();
+  }
+
+  private void report(double seconds) throws IOException {
+    ObjectNode result = objectMapper.createObjectNode();
+    result.put("label", options.label());
+    result.put("timestamp", Instant.now().toString());
+    result.put("javaVersion", Runtime.version().toString());
+    result.put("processors", Runtime.getRuntime().availableProcessors());
+    ObjectNode config = result.putObject("config");
+    config.put(
+      "store",
+      options.target() != null ? "external" : options.store()
+    );
+    config.put("concurrency", options.concurrency());
+    config.put("warmupSeconds", options.warmup().toSeconds());
+    config.put("durationSeconds", options.duration().toSeconds());
+    config.put("ips", options.ips());
+    config.put("seedNotes", options.seedNotes());
+    config.put("seed", options.seed());
+    config.put("acceptEncoding", options.acceptEncoding());
+    config.put("http2", options.http2());
+    ObjectNode mix = config.putObject("mix");
+    options
+      .mix()
+      .forEach((operation, weight) -> mix.put(operation.label, weight));
+
+    Path resultFile = options.result();
+    Path directory = resultFile.toAbsolutePath().getParent();
+    Files.createDirectories(directory);
+    String baseName = resultFile.getFileName().toString().replaceFirst(
+      "\\.json$",
+      ""
+    );
+
+    System.out.printf(
+      "%n%-8s %10s %10s %9s %9s %9s %9s %9s %9s  %s%n",
+      "endpoint",
+      "requests",
+      "req/s",
+      "B/req",
+      "p50 ms",
+      "p90 ms",
+      "p99 ms",
+      "p99.9 ms",
+      "max ms",
+      "statuses"
+    );
+    ObjectNode endpoints = result.putObject("endpoints");
+    for (EndpointStats endpoint : stats.values()) {
+      Histogram latencies = endpoint.latencies();
+      long requests = latencies.getTotalCount();
+      ObjectNode node = endpoints.putObject(endpoint.name());
+      node.put("requests", requests);
+      node.put("throughput", requests / seconds);
+      node.put("errors", endpoint.errors());
+      node.put("bytes", endpoint.bytes());
+      node.put(
+        "bytesPerRequest",
+        requests > 0 ? (double) endpoint.bytes() / requests : 0
+      );
+      ObjectNode statuses = node.putObject("statuses");
+      endpoint
+        .statuses()
+        .forEach((status, count) -> statuses.put(status.toString(), count));
+      ObjectNode latencyMs = node.putObject("latencyMs");
+      latencyMs.put("mean", latencies.getMean() / 1000.0);
+      latencyMs.put("p50", millis(latencies, 50));
+      latencyMs.put("p90", millis(latencies, 90));
+      latencyMs.put("p99", millis(latencies, 99));
+      latencyMs.put("p99.9", millis(latencies, 99.9));
+      latencyMs.put("max", latencies.getMaxValue() / 1000.0);
+
+      try (
+        PrintStream out = new PrintStream(
+          Files.newOutputStream(
+            directory.resolve(baseName + "-" + endpoint.name() + ".hgrm")
+          )
+        )
+      ) {
+        latencies.outputPercentileDistribution(out, 1000.0);
+      }
+      System.out.printf(
+        "%-8s %10d %10.1f %9.0f %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n",
+        endpoint.name(),
+        requests,
+        requests / seconds,
+        requests > 0 ? (double) endpoint.bytes() / requests : 0,
+        millis(latencies, 50),
+        millis(latencies, 90),
+        millis(latencies, 99),
+        millis(latencies, 99.9),
+        latencies.getMaxValue() / 1000.0,
+        endpoint.statuses() +
+        (endpoint.errors() > 0 ? " errors=" + endpoint.errors() : "")
+      );
+    }
+
+    objectMapper
+      .enable(SerializationFeature.INDENT_OUTPUT)
+      .writeValue(resultFile.toFile(), result);
+    System.out.printf("%nResults written to %s%n", resultFile);
+  }
+
+  private static double millis(Histogram latencies, double percentile) {
+    return latencies.getValueAtPercentile(percentile) / 1000.0;
+  }
+
+  // Note text is drawn from random made-up words so that notes are neither
+  // exact nor near duplicates of each other.
+  private static String message(Random random) {
+    int length = 20 + random.nextInt(400);
+    StringBuilder message = new StringBuilder(length + 10);
+    while (message.length() < length) {
+      if (!message.isEmpty()) {
+        message.append(' ');
+      }
+      message.append(word(random));
+    }
+    return message.toString();
+  }
+
+  private static String word(Random random) {
+    int length = 2 + random.nextInt(8);
+    char[] letters = new char[length];
+    for (int i = 0; i < length; i++) {
+      letters[i] = (char) ('a' + random.nextInt(26));
+    }
+    return new String(letters);
+  }
+
+  private static String clientIp(int index) {
+    return index % 4 == 0
+      ? "2001:db8::" + Integer.toHexString(index + 1)
+      : "10." +
+      ((index >> 16) & 0xff) +
+      "." +
+      ((index >> 8) & 0xff) +
+      "." +
+      (index & 0xff);
+  }
+
+  private static void deleteRecursively(Path directory) throws IOException {
+    try (Stream<Path> paths = Files.walk(directory)) {
+      for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+        Files.deleteIfExists(path);
+      }
+    }
+  }
+
+  private enum Operation {
+    LIST("list"),
+    GET("get"),
+    CREATE("create");
+
+    private final String label;
+
+    Operation(String label) {
+      this.label = label;
+    }
+  }
+
+  /**
+   * Load test options.
+   *
+   * @param duration    how long requests are measured
+   * @param warmup      how long requests run before measuring starts
+   * @param concurrency the number of closed-loop workers
+   * @param ips         the number of distinct client addresses for creates
+   * @param seedNotes   the number of notes created before the run
+   * @param mix         the relative weight of each operation
+   * @param seed        the seed of the request generators
+   * @param store       {@code container}, {@code mongo} or {@code embedded}
+   * @param mongoImage  the MongoDB image run by the {@code container} store
+   * @param mongoUri    the MongoDB to use with the {@code mongo} store
+   * @param target      the base URL of a running instance to test instead
+   *                    of booting one, or null
+   * @param label       a free-form label stored with the results
+   * @param result      the JSON result file
+   * @param acceptEncoding the {@code Accept-Encoding} sent, or empty
+   * @param http2       whether to use HTTP/2
+   * @param appArgs     options passed on to the application
+   */
+  private record Options(
+    Duration duration,
+    Duration warmup,
+    int concurrency,
+    int ips,
+    int seedNotes,
+    Map<Operation, Integer> mix,
+    long seed,
+    String store,
+    String mongoImage,
+    String mongoUri,
+    String target,
+    String label,
+    Path result,
+    String acceptEncoding,
+    boolean http2,
+    String[] appArgs
+  ) {
+    static Options parse(String[] args) {
+      Map<String, String> values = new HashMap<>();
+      values.put("duration", "60s");
+      values.put("warmup", "15s");
+      values.put("concurrency", "64");
+      values.put("ips", "10000");
+      values.put("seed-notes", "1000");
+      values.put("mix", "list=70,get=20,create=10");
+      values.put("seed", "42");
+      values.put("store", "container");
+      values.put("mongo-image", "mongo:7.0");
+      values.put("mongo-uri", "mongodb://localhost:27017/echo_loadtest");
+      values.put("label", "");
+      values.put("result", "target/loadtest-result.json");
+      values.put("accept-encoding", "");
+      values.put("http2", "false");
+      List<String> appArgs = new ArrayList<>();
+      for (String arg : args) {
+        int equals = arg.indexOf('=');
+        String name = arg.startsWith("--") && equals > 2
+          ? arg.substring(2, equals)
+          : null;
+        boolean known = values.containsKey(name) || "target".equals(name);
+        if (name != null && known) {
+          values.put(name, arg.substring(equals + 1));
+        } else if (!arg.isBlank()) {
+          appArgs.add(arg);
+        }
+      }
+
+      String store = values.get("store");
+      if (!List.of("container", "mongo", "embedded").contains(store)) {
+        throw new IllegalArgumentException(
+          "store must be container, mongo or embedded: " + store
+        );
+      }
+      Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+      for (String part : values.get("mix").split(",")) {
+        String[] weight = part.trim().split("=");
+        mix.put(
+          Operation.valueOf(weight[0].trim().toUpperCase()),
+          Integer.parseInt(weight[1].trim())
+        );
+      }
+      if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+        throw new IllegalArgumentException("mix has no positive weight");
+      }
+      return new Options(
+        duration(values.get("duration")),
+        duration(values.get("warmup")),
+        Integer.parseInt(values.get("concurrency")),
+        Math.max(Integer.parseInt(values.get("ips")), 1),
+        Integer.parseInt(values.get("seed-notes")),
+        mix,
+        Long.parseLong(values.get("seed")),
+        store,
+        values.get("mongo-image"),
+        values.get("mongo-uri"),
+        values.get("target"),
+        values.get("label"),
+        Path.of(values.get("result")),
+        values.get("accept-encoding").trim(),
+        Boolean.parseBoolean(values.get("http2")),
+        appArgs.toArray(String[]::new)
+      );
+    }
+
+    Operation pick(Random random) {
+      int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+      int roll = random.nextInt(total);
+      for (Map.Entry<Operation, Integer> weight : mix.entrySet()) {
+        roll -= weight.getValue();
+        if (roll < 0) {
+          return weight.getKey();
+        }
+      }
+      throw new IllegalStateException("mix has no positive weight");
+    }
+
+    // Accepts 90s, 2m or a plain number of seconds.
+    private static Duration duration(String value) {
+      String trimmed = value.trim();
+      return Character.isDigit(trimmed.charAt(trimmed.length() - 1))
+        ? Duration.ofSeconds(Long.parseLong(trimmed))
+        : Duration.parse("PT" + trimmed.toUpperCase());
+    }
+  }
+}
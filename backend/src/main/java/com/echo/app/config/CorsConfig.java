@@ -5,6 +5,7 @@ package com.echo.app.config;
 import java.util.Arrays;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
@@ -18,34 +19,41 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
  * CORS configuration for the application.
  */
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class CorsConfig implements WebMvcConfigurer {
 
-  @Value("${echo.cors-origins}")
-  private String corsOrigins;
+  // Rate limit details readable by browser clients.
+  private static final String[] EXPOSED_HEADERS = {
+    "Retry-After",
+    "X-RateLimit-Limit",
+    "X-RateLimit-Remaining",
+    "X-RateLimit-Reset"
+  };
+
+  private static final String API_PATTERN = "/api/**";
+
+  // The one API CORS policy, shared by the MVC mapping and the source the
+  // rate limiter answers its own responses from, so the two cannot drift.
+  private final CorsConfiguration apiCors = new CorsConfiguration();
+
+  public CorsConfig(@Value("${echo.cors-origins}") String corsOrigins) {
+    apiCors.setAllowedOrigins(Arrays.asList(corsOrigins.split(",")));
+    apiCors.setAllowedMethods(List.of("GET", "POST", "OPTIONS"));
+    apiCors.setAllowedHeaders(List.of("*"));
+    apiCors.setExposedHeaders(List.of(EXPOSED_HEADERS));
+    apiCors.setMaxAge(3600L);
+  }
 
   @Override
-  @SuppressWarnings("null")
   public void addCorsMappings(@NonNull CorsRegistry registry) {
-    String[] origins = corsOrigins.split(",");
-    registry
-      .addMapping("/api/**")
-      .allowedOrigins(origins)
-      .allowedMethods("GET", "POST", "OPTIONS")
-      .allowedHeaders("*")
-      .maxAge(3600);
+    registry.addMapping(API_PATTERN).combine(apiCors);
   }
 
   @Bean
   public CorsConfigurationSource corsConfigurationSource() {
-    CorsConfiguration configuration = new CorsConfiguration();
-    configuration.setAllowedOrigins(Arrays.asList(corsOrigins.split(",")));
-    configuration.setAllowedMethods(Arrays.asList("GET", "POST", "OPTIONS"));
-    configuration.setAllowedHeaders(List.of("*"));
-    configuration.setMaxAge(3600L);
-
     UrlBasedCorsConfigurationSource source =
       new UrlBasedCorsConfigurationSource();
-    source.registerCorsConfiguration("/api/**", configuration);
+    source.registerCorsConfiguration(API_PATTERN, apiCors);
     return source;
   }
 }
@@ -0,0 +1,39 @@
+// src/main/java/com/echo/app/config/MongoConfig.java
+
+package com.echo.app.config;
+
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * MongoDB client configuration.
+ */
+@Configuration
+public class MongoConfig {
+
+  /**
+   * Sizes the driver connection pool and bounds how long a request may wait
+   * for a connection. With virtual threads, request concurrency is no longer
+   * capped by the Tomcat pool, so the connection pool becomes the limiter and
+   * waiting must fail fast instead of queueing for the driver's two-minute
+   * default. On the reactive stack this sizes the reactive client only;
+   * {@code ReactiveMongoConfig} builds the blocking one with its own pool.
+   */
+  @Bean
+  public MongoClientSettingsBuilderCustomizer connectionPoolCustomizer(
+    @Value("${echo.mongo.max-pool-size:100}") int maxPoolSize,
+    @Value("${echo.mongo.min-pool-size:0}") int minPoolSize,
+    @Value("${echo.mongo.max-wait-ms:2000}") long maxWaitMs
+  ) {
+    return builder ->
+      builder.applyToConnectionPoolSettings(pool ->
+        pool
+          .maxSize(maxPoolSize)
+          .minSize(minPoolSize)
+          .maxWaitTime(maxWaitMs, TimeUnit.MILLISECONDS)
+      );
+  }
+}
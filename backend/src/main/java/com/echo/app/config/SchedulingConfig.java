@@ -0,0 +1,13 @@
+// src/main/java/com/echo/app/config/SchedulingConfig.java
+
+package com.echo.app.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled background tasks such as cached count refreshes.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {}
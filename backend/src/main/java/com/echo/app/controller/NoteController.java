@@ -3,61 +3,202 @@
 package com.echo.app.controller;
 
 import com.echo.app.dto.CreateNoteRequest;
+import com.echo.app.dto.CursorResponse;
+import com.echo.app.dto.JsonPayload;
 import com.echo.app.dto.NoteResponse;
 import com.echo.app.dto.PagedResponse;
+import com.echo.app.filter.ClientIp;
+import com.echo.app.service.NoteExportService;
+import com.echo.app.service.NoteImportService;
+import com.echo.app.service.NoteMetrics;
 import com.echo.app.service.NoteService;
+import com.echo.app.service.NoteStreamService;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * REST controller for note operations.
  */
 @RestController
 @RequestMapping("/api/v1/notes")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class NoteController {
 
+  private static final CacheControl LIST_CACHE_CONTROL = CacheControl.noCache();
+  private static final CacheControl NOTE_CACHE_CONTROL = CacheControl.maxAge(
+    Duration.ofHours(1)
+  ).cachePublic();
+
+  private static final String NDJSON_CONTENT_TYPE = "application/x-ndjson";
+
   private final NoteService noteService;
+  private final NoteStreamService noteStreamService;
+  private final NoteExportService noteExportService;
+  private final NoteImportService noteImportService;
+  private final NoteMetrics noteMetrics;
 
-  public NoteController(NoteService noteService) {
+  public NoteController(
+    NoteService noteService,
+    NoteStreamService noteStreamService,
+    NoteExportService noteExportService,
+    NoteImportService noteImportService,
+    NoteMetrics noteMetrics
+  ) {
     this.noteService = noteService;
+    this.noteStreamService = noteStreamService;
+    this.noteExportService = noteExportService;
+    this.noteImportService = noteImportService;
+    this.noteMetrics = noteMetrics;
   }
 
   /**
-   * Lists notes with pagination.
+   * Lists notes with pagination. Responses carry a strong ETag and must be
+   * revalidated, so polling clients get a 304 while the page is unchanged.
+   * Clients accepting gzip get the page's pre-compressed body.
    *
-   * @param page the page number (default 0)
-   * @param size the page size (default 20, max 100)
-   * @param sort the sort field and direction (e.g., "createdAt,desc")
+   * @param page        the page number (default 0)
+   * @param size        the page size (default 20, max 100)
+   * @param sort        the sort field and direction (e.g., "createdAt,desc")
+   * @param httpRequest the HTTP request for content negotiation
    * @return paginated list of notes
    */
   @GetMapping
-  public ResponseEntity<PagedResponse<NoteResponse>> listNotes(
+  public ResponseEntity<byte[]> listNotes(
     @RequestParam(defaultValue = "0") int page,
     @RequestParam(defaultValue = "20") int size,
-    @RequestParam(defaultValue = "createdAt,desc") String sort
+    @RequestParam(defaultValue = "createdAt,desc") String sort,
+    HttpServletRequest httpRequest
   ) {
     String[] sortParts = sort.split(",");
     String sortField = sortParts[0];
     String sortDirection = sortParts.length > 1 ? sortParts[1] : "desc";
 
-    PagedResponse<NoteResponse> response = noteService.getNotes(
+    JsonPayload payload = noteService.getNotesJson(
       page,
       size,
       sortField,
       sortDirection
     );
+    return jsonResponse(payload, LIST_CACHE_CONTROL, httpRequest);
+  }
+
+  /**
+   * Lists notes with keyset pagination. Selected whenever the {@code cursor}
+   * parameter is present; pass it empty to fetch the first page.
+   *
+   * @param cursor the cursor from the previous page's {@code nextCursor}
+   * @param size   the page size (default 20, max 100)
+   * @param sort   the sort direction for the first page (e.g.,
+   *               "createdAt,desc"); ordering is always by createdAt then id
+   * @return cursor-paginated list of notes
+   */
+  @GetMapping(params = "cursor")
+  public ResponseEntity<CursorResponse<NoteResponse>> listNotesByCursor(
+    @RequestParam String cursor,
+    @RequestParam(defaultValue = "20") int size,
+    @RequestParam(defaultValue = "createdAt,desc") String sort
+  ) {
+    String[] sortParts = sort.split(",");
+    String sortDirection = sortParts.length > 1 ? sortParts[1] : "desc";
+
+    CursorResponse<NoteResponse> response = noteService.getNotesByCursor(
+      cursor,
+      size,
+      sortDirection
+    );
     return ResponseEntity.ok(response);
   }
 
+  /**
+   * Searches notes by words in their message or author, best matches first.
+   *
+   * @param q    the search text (default empty, which matches nothing)
+   * @param page the page number (default 0)
+   * @param size the page size (default 20, max 100)
+   * @return paginated list of matching notes
+   */
+  @GetMapping("/search")
+  public ResponseEntity<PagedResponse<NoteResponse>> searchNotes(
+    @RequestParam(defaultValue = "") String q,
+    @RequestParam(defaultValue = "0") int page,
+    @RequestParam(defaultValue = "20") int size
+  ) {
+    return ResponseEntity.ok(noteService.searchNotes(q, page, size));
+  }
+
+  /**
+   * Exports notes as NDJSON, oldest first, written directly to the response
+   * from a single database cursor.
+   *
+   * @param from     the inclusive lower bound on createdAt (ISO-8601)
+   * @param to       the exclusive upper bound on createdAt (ISO-8601)
+   * @param response the HTTP response to write to
+   * @throws IOException if writing the response fails
+   */
+  @GetMapping("/export")
+  public void exportNotes(
+    @RequestParam(required = false) @DateTimeFormat(
+      iso = DateTimeFormat.ISO.DATE_TIME
+    ) Instant from,
+    @RequestParam(required = false) @DateTimeFormat(
+      iso = DateTimeFormat.ISO.DATE_TIME
+    ) Instant to,
+    HttpServletResponse response
+  ) throws IOException {
+    response.setContentType(NDJSON_CONTENT_TYPE);
+    response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+    noteExportService.export(from, to, response.getOutputStream());
+  }
+
+  /**
+   * Streams newly created notes as Server-Sent Events. Each event carries the
+   * note ID, so reconnecting clients resume from {@code Last-Event-ID}; a
+   * {@code reset} event means the gap was too large and the feed should be
+   * reloaded.
+   *
+   * @param lastEventId the ID of the last note received, if reconnecting
+   * @return the event stream, or 503 if the subscriber limit is reached
+   */
+  @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public ResponseEntity<SseEmitter> streamNotes(
+    @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+  ) {
+    return noteStreamService
+      .subscribe(lastEventId)
+      .map(emitter ->
+        ResponseEntity.ok()
+          .cacheControl(CacheControl.noStore())
+          .header("X-Accel-Buffering", "no")
+          .body(emitter)
+      )
+      .orElse(
+        ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+          .header(HttpHeaders.RETRY_AFTER, "5")
+          .<SseEmitter>build()
+      );
+  }
+
   /**
    * Creates a new note.
    *
@@ -70,7 +211,7 @@ public class NoteController {
     @Valid @RequestBody CreateNoteRequest request,
     HttpServletRequest httpRequest
   ) {
-    String clientIp = getClientIp(httpRequest);
+    String clientIp = ClientIp.resolve(httpRequest);
     String userAgent = httpRequest.getHeader("User-Agent");
 
     NoteResponse response = noteService.createNote(
@@ -82,24 +223,120 @@ public class NoteController {
   }
 
   /**
-   * Gets a single note by ID.
+   * Imports notes in bulk from a JSON array or NDJSON body. Each item is
+   * validated and sanitized like a single create; the response is NDJSON
+   * with one result per item, in input order.
    *
-   * @param id the note ID
+   * @param authorization the bearer import token
+   * @param httpRequest   the HTTP request to read items from
+   * @param httpResponse  the HTTP response to write results to
+   * @throws IOException if reading the request or writing the response fails
+   */
+  @PostMapping("/batch")
+  public void importNotes(
+    @RequestHeader(
+      value = HttpHeaders.AUTHORIZATION,
+      required = false
+    ) String authorization,
+    HttpServletRequest httpRequest,
+    HttpServletResponse httpResponse
+  ) throws IOException {
+    noteImportService.authorize(authorization);
+    httpResponse.setContentType(NDJSON_CONTENT_TYPE);
+    httpResponse.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+    noteImportService.importNotes(
+      httpRequest.getInputStream(),
+      ClientIp.resolve(httpRequest),
+      httpRequest.getHeader("User-Agent"),
+      httpResponse.getOutputStream()
+    );
+  }
+
+  /**
+   * Gets a single note by ID. Notes are immutable, so the response is
+   * publicly cacheable and revalidated by ETag.
+   *
+   * @param id          the note ID
+   * @param httpRequest the HTTP request for content negotiation
    * @return the note if found
    */
   @GetMapping("/{id}")
-  public ResponseEntity<NoteResponse> getNoteById(@PathVariable String id) {
+  public ResponseEntity<byte[]> getNoteById(
+    @PathVariable String id,
+    HttpServletRequest httpRequest
+  ) {
     return noteService
-      .getNoteById(id)
-      .map(ResponseEntity::ok)
+      .getNoteJsonById(id)
+      .map(payload -> jsonResponse(payload, NOTE_CACHE_CONTROL, httpRequest))
       .orElse(ResponseEntity.notFound().build());
   }
 
-  private String getClientIp(HttpServletRequest request) {
-    String xForwardedFor = request.getHeader("X-Forwarded-For");
-    if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-      return xForwardedFor.split(",")[0].trim();
+  // Conditional GETs are answered with 304 by Spring from the ETag set here.
+  // Each encoding has its own ETag, and setting Content-Encoding keeps the
+  // server from compressing the body again.
+  private ResponseEntity<byte[]> jsonResponse(
+    JsonPayload payload,
+    CacheControl cacheControl,
+    HttpServletRequest httpRequest
+  ) {
+    byte[] gzipBody = payload.getGzipBody();
+    boolean gzip =
+      gzipBody != null &&
+      acceptsGzip(httpRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    String etag = gzip ? payload.getGzipEtag() : payload.getEtag();
+    String ifNoneMatch = httpRequest.getHeader(HttpHeaders.IF_NONE_MATCH);
+    if (ifNoneMatch == null || !ifNoneMatch.contains(etag)) {
+      if (gzip) {
+        noteMetrics.gzipBytes().increment(gzipBody.length);
+        noteMetrics
+          .bytesSaved()
+          .increment(payload.getBody().length - gzipBody.length);
+      } else {
+        noteMetrics.identityBytes().increment(payload.getBody().length);
+      }
+    }
+
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+      .contentType(MediaType.APPLICATION_JSON)
+      .cacheControl(cacheControl)
+      .varyBy(HttpHeaders.ACCEPT_ENCODING)
+      .eTag(etag);
+    if (!gzip) {
+      return response.body(payload.getBody());
+    }
+    return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzipBody);
+  }
+
+  /**
+   * Returns whether an {@code Accept-Encoding} header admits gzip, honouring
+   * {@code q=0} and the {@code *} wildcard.
+   */
+  private static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    Double gzip = null;
+    Double any = null;
+    for (String coding : acceptEncoding.split(",")) {
+      String[] params = coding.split(";");
+      String name = params[0].trim().toLowerCase(Locale.ROOT);
+      double quality = 1;
+      for (int i = 1; i < params.length; i++) {
+        String param = params[i].trim();
+        if (param.startsWith("q=")) {
+          try {
+            quality = Double.parseDouble(param.substring(2));
+          } catch (NumberFormatException e) {
+            quality = 0;
+          }
+        }
+      }
+      if (name.equals("gzip") || name.equals("x-gzip")) {
+        gzip = quality;
+      } else if (name.equals("*")) {
+        any = quality;
+      }
     }
-    return request.getRemoteAddr();
+    return gzip != null ? gzip > 0 : any != null && any > 0;
   }
 }
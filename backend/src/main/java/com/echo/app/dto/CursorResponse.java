@@ -0,0 +1,49 @@
+// src/main/java/com/echo/app/dto/CursorResponse.java
+
+package com.echo.app.dto;
+
+import java.util.List;
+
+/**
+ * Generic cursor-paginated response DTO.
+ *
+ * @param <T> the type of items in the response
+ */
+public class CursorResponse<T> {
+
+  private int size;
+  private String nextCursor;
+  private List<T> items;
+
+  public CursorResponse() {}
+
+  public CursorResponse(int size, String nextCursor, List<T> items) {
+    this.size = size;
+    this.nextCursor = nextCursor;
+    this.items = items;
+  }
+
+  public int getSize() {
+    return size;
+  }
+
+  public void setSize(int size) {
+    this.size = size;
+  }
+
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
+
+  public List<T> getItems() {
+    return items;
+  }
+
+  public void setItems(List<T> items) {
+    this.items = items;
+  }
+}
@@ -0,0 +1,55 @@
+// src/main/java/com/echo/app/dto/JsonPayload.java
+
+package com.echo.app.dto;
+
+/**
+ * Pre-serialized JSON response body together with its strong ETag, and
+ * optionally the same body gzip-compressed once up front.
+ */
+public class JsonPayload {
+
+  private final byte[] body;
+  private final String etag;
+  private final byte[] gzipBody;
+
+  public JsonPayload(byte[] body, String etag) {
+    this(body, etag, null);
+  }
+
+  public JsonPayload(byte[] body, String etag, byte[] gzipBody) {
+    this.body = body;
+    this.etag = etag;
+    this.gzipBody = gzipBody;
+  }
+
+  public byte[] getBody() {
+    return body;
+  }
+
+  public String getEtag() {
+    return etag;
+  }
+
+  /**
+   * Returns the gzip-compressed body, or null if the body was too small to
+   * be worth compressing.
+   */
+  public byte[] getGzipBody() {
+    return gzipBody;
+  }
+
+  /**
+   * Returns the strong ETag of the gzip-compressed representation, which
+   * must differ from the identity one.
+   */
+  public String getGzipEtag() {
+    return etag.substring(0, etag.length() - 1) + "-gzip\"";
+  }
+
+  /**
+   * Returns the number of bytes the payload retains.
+   */
+  public int weight() {
+    return body.length + (gzipBody != null ? gzipBody.length : 0);
+  }
+}
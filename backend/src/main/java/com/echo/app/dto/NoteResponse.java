@@ -3,6 +3,7 @@
 package com.echo.app.dto;
 
 import com.echo.app.model.Note;
+import com.echo.app.model.NoteView;
 import java.time.Instant;
 
 /**
@@ -44,6 +45,21 @@ public class NoteResponse {
     );
   }
 
+  /**
+   * Creates a NoteResponse from a note read model.
+   *
+   * @param view the note view
+   * @return the response DTO
+   */
+  public static NoteResponse fromView(NoteView view) {
+    return new NoteResponse(
+      view.getId(),
+      view.getMessage(),
+      view.getAuthor(),
+      view.getCreatedAt()
+    );
+  }
+
   public String getId() {
     return id;
   }
@@ -0,0 +1,13 @@
+// src/main/java/com/echo/app/exception/DuplicateNoteException.java
+
+package com.echo.app.exception;
+
+/**
+ * Exception thrown when a note repeats a message that was posted recently.
+ */
+public class DuplicateNoteException extends RuntimeException {
+
+  public DuplicateNoteException(String message) {
+    super(message);
+  }
+}
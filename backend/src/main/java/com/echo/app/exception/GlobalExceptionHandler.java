@@ -2,29 +2,42 @@
 
 package com.echo.app.exception;
 
+import com.echo.app.service.NoteMetrics;
 import jakarta.servlet.http.HttpServletRequest;
 import java.time.Instant;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 /**
  * Global exception handler for consistent error responses.
  */
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GlobalExceptionHandler {
 
+  private final NoteMetrics noteMetrics;
+
+  public GlobalExceptionHandler(NoteMetrics noteMetrics) {
+    this.noteMetrics = noteMetrics;
+  }
+
   @ExceptionHandler(MethodArgumentNotValidException.class)
   public ResponseEntity<Map<String, Object>> handleValidationException(
     MethodArgumentNotValidException ex,
     HttpServletRequest request
   ) {
+    noteMetrics.validationFailures().increment();
     String message = ex
       .getBindingResult()
       .getFieldErrors()
@@ -51,6 +64,50 @@ public class GlobalExceptionHandler {
     );
   }
 
+  @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+  public ResponseEntity<Map<String, Object>> handleTypeMismatch(
+    MethodArgumentTypeMismatchException ex,
+    HttpServletRequest request
+  ) {
+    return buildErrorResponse(
+      HttpStatus.BAD_REQUEST,
+      "Invalid value for parameter '" + ex.getName() + "'",
+      request
+    );
+  }
+
+  @ExceptionHandler(InvalidCursorException.class)
+  public ResponseEntity<Map<String, Object>> handleInvalidCursor(
+    InvalidCursorException ex,
+    HttpServletRequest request
+  ) {
+    return buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), request);
+  }
+
+  @ExceptionHandler(InvalidSortException.class)
+  public ResponseEntity<Map<String, Object>> handleInvalidSort(
+    InvalidSortException ex,
+    HttpServletRequest request
+  ) {
+    return buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), request);
+  }
+
+  @ExceptionHandler(ImportNotAllowedException.class)
+  public ResponseEntity<Map<String, Object>> handleImportNotAllowed(
+    ImportNotAllowedException ex,
+    HttpServletRequest request
+  ) {
+    return buildErrorResponse(HttpStatus.FORBIDDEN, ex.getMessage(), request);
+  }
+
+  @ExceptionHandler(DuplicateNoteException.class)
+  public ResponseEntity<Map<String, Object>> handleDuplicateNote(
+    DuplicateNoteException ex,
+    HttpServletRequest request
+  ) {
+    return buildErrorResponse(HttpStatus.CONFLICT, ex.getMessage(), request);
+  }
+
   @ExceptionHandler(RateLimitExceededException.class)
   public ResponseEntity<Map<String, Object>> handleRateLimitExceeded(
     RateLimitExceededException ex,
@@ -63,6 +120,36 @@ public class GlobalExceptionHandler {
     );
   }
 
+  @ExceptionHandler(WriteBackpressureException.class)
+  public ResponseEntity<Map<String, Object>> handleWriteBackpressure(
+    WriteBackpressureException ex,
+    HttpServletRequest request
+  ) {
+    ResponseEntity<Map<String, Object>> response = buildErrorResponse(
+      HttpStatus.SERVICE_UNAVAILABLE,
+      ex.getMessage(),
+      request
+    );
+    return ResponseEntity.status(response.getStatusCode())
+      .header(HttpHeaders.RETRY_AFTER, "1")
+      .body(response.getBody());
+  }
+
+  @ExceptionHandler(DataAccessResourceFailureException.class)
+  public ResponseEntity<Map<String, Object>> handleDatabaseUnavailable(
+    DataAccessResourceFailureException ex,
+    HttpServletRequest request
+  ) {
+    ResponseEntity<Map<String, Object>> response = buildErrorResponse(
+      HttpStatus.SERVICE_UNAVAILABLE,
+      "Service temporarily unavailable. Please try again later.",
+      request
+    );
+    return ResponseEntity.status(response.getStatusCode())
+      .header(HttpHeaders.RETRY_AFTER, "1")
+      .body(response.getBody());
+  }
+
   @ExceptionHandler(Exception.class)
   public ResponseEntity<Map<String, Object>> handleGenericException(
     Exception ex,
@@ -79,13 +166,23 @@ public class GlobalExceptionHandler {
     HttpStatus status,
     String message,
     HttpServletRequest request
+  ) {
+    return ResponseEntity.status(status).body(
+      errorBody(status, message, request.getRequestURI())
+    );
+  }
+
+  static Map<String, Object> errorBody(
+    HttpStatus status,
+    String message,
+    String path
   ) {
     Map<String, Object> body = new LinkedHashMap<>();
     body.put("timestamp", Instant.now().toString());
     body.put("status", status.value());
     body.put("error", status.getReasonPhrase());
     body.put("message", message);
-    body.put("path", request.getRequestURI());
-    return ResponseEntity.status(status).body(body);
+    body.put("path", path);
+    return body;
   }
 }
@@ -0,0 +1,14 @@
+// src/main/java/com/echo/app/exception/ImportNotAllowedException.java
+
+package com.echo.app.exception;
+
+/**
+ * Exception thrown when a bulk import is attempted while imports are disabled
+ * or without a valid import token.
+ */
+public class ImportNotAllowedException extends RuntimeException {
+
+  public ImportNotAllowedException(String message) {
+    super(message);
+  }
+}
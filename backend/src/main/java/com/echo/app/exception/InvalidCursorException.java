@@ -0,0 +1,13 @@
+// src/main/java/com/echo/app/exception/InvalidCursorException.java
+
+package com.echo.app.exception;
+
+/**
+ * Exception thrown when a pagination cursor cannot be decoded.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+  public InvalidCursorException(String message) {
+    super(message);
+  }
+}
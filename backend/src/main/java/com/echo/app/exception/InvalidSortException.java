@@ -0,0 +1,14 @@
+// src/main/java/com/echo/app/exception/InvalidSortException.java
+
+package com.echo.app.exception;
+
+/**
+ * Exception thrown when a listing is requested with an unsupported sort
+ * field.
+ */
+public class InvalidSortException extends RuntimeException {
+
+  public InvalidSortException(String message) {
+    super(message);
+  }
+}
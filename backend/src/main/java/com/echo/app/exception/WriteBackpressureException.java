@@ -0,0 +1,13 @@
+// src/main/java/com/echo/app/exception/WriteBackpressureException.java
+
+package com.echo.app.exception;
+
+/**
+ * Exception thrown when the note write pipeline cannot accept more work.
+ */
+public class WriteBackpressureException extends RuntimeException {
+
+  public WriteBackpressureException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,30 @@
+// src/main/java/com/echo/app/filter/ClientIp.java
+
+package com.echo.app.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Resolves the client IP address of a servlet request.
+ */
+public final class ClientIp {
+
+  private ClientIp() {}
+
+  /**
+   * Returns the first {@code X-Forwarded-For} address, or the remote address
+   * if the header is absent.
+   *
+   * @param request the HTTP request
+   * @return the client IP address
+   */
+  public static String resolve(HttpServletRequest request) {
+    String xForwardedFor = request.getHeader("X-Forwarded-For");
+    if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
+      int comma = xForwardedFor.indexOf(',');
+      return (comma < 0 ? xForwardedFor : xForwardedFor.substring(0, comma))
+        .trim();
+    }
+    return request.getRemoteAddr();
+  }
+}
@@ -0,0 +1,166 @@
+// src/main/java/com/echo/app/filter/RateLimitFilter.java
+
+package com.echo.app.filter;
+
+import com.echo.app.service.IpHasher;
+import com.echo.app.service.NoteMetrics;
+import com.echo.app.service.RateLimitService;
+import io.github.bucket4j.ConsumptionProbe;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.CorsProcessor;
+import org.springframework.web.cors.DefaultCorsProcessor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * Rate limits note creation before the request body is read, so that
+ * over-limit clients never reach JSON parsing, validation or the service.
+ *
+ * <p>Every response to {@code POST /api/v1/notes} carries
+ * {@code X-RateLimit-Limit}, {@code X-RateLimit-Remaining} and
+ * {@code X-RateLimit-Reset} from the consumption probe. Rejected requests
+ * get a 429 with {@code Retry-After} and a pre-rendered error body.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+  private static final Logger log = LoggerFactory.getLogger(
+    RateLimitFilter.class
+  );
+
+  private static final String NOTES_PATH = "/api/v1/notes";
+  private static final String LIMIT_HEADER = "X-RateLimit-Limit";
+  private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+  private static final String RESET_HEADER = "X-RateLimit-Reset";
+
+  // Same shape as GlobalExceptionHandler's error body; only the timestamp
+  // is rendered per request.
+  private static final byte[] BODY_PREFIX = "{\"timestamp\":\"".getBytes(
+    StandardCharsets.UTF_8
+  );
+  private static final byte[] BODY_SUFFIX = (
+    "\",\"status\":429,\"error\":\"" +
+    HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase() +
+    "\",\"message\":\"Rate limit exceeded. Please try again later.\"," +
+    "\"path\":\"" +
+    NOTES_PATH +
+    "\"}"
+  ).getBytes(StandardCharsets.UTF_8);
+
+  private final RateLimitService rateLimitService;
+  private final IpHasher ipHasher;
+  private final NoteMetrics noteMetrics;
+  private final CorsConfigurationSource corsConfigurationSource;
+  private final CorsProcessor corsProcessor = new DefaultCorsProcessor();
+  private final String limit;
+
+  public RateLimitFilter(
+    RateLimitService rateLimitService,
+    IpHasher ipHasher,
+    NoteMetrics noteMetrics,
+    CorsConfigurationSource corsConfigurationSource
+  ) {
+    this.rateLimitService = rateLimitService;
+    this.ipHasher = ipHasher;
+    this.noteMetrics = noteMetrics;
+    this.corsConfigurationSource = corsConfigurationSource;
+    this.limit = Integer.toString(rateLimitService.getLimitPerMinute());
+  }
+
+  @Override
+  protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+    if (!"POST".equals(request.getMethod())) {
+      return true;
+    }
+    // Compare the path the handler mapping sees: decoded, with matrix
+    // parameters and duplicate slashes removed, so that variants such as
+    // /api/v1/notes;x=1 or /api/v1/%6Eotes cannot skip the limit.
+    String path = UrlPathHelper.defaultInstance.getPathWithinApplication(
+      request
+    );
+    return !NOTES_PATH.equals(path);
+  }
+
+  @Override
+  protected void doFilterInternal(
+    @NonNull HttpServletRequest request,
+    @NonNull HttpServletResponse response,
+    @NonNull FilterChain filterChain
+  ) throws ServletException, IOException {
+    String ipHash = ipHasher.hash(ClientIp.resolve(request));
+    ConsumptionProbe probe = noteMetrics
+      .rateLimit()
+      .record(() -> rateLimitService.tryConsumeAndReturnRemaining(ipHash));
+
+    response.setHeader(LIMIT_HEADER, limit);
+    response.setHeader(
+      REMAINING_HEADER,
+      Long.toString(probe.getRemainingTokens())
+    );
+    response.setHeader(
+      RESET_HEADER,
+      Long.toString(toSeconds(probe.getNanosToWaitForReset()))
+    );
+
+    if (probe.isConsumed()) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    log.warn("Rate limit exceeded for ipHash: {}", ipHash);
+    noteMetrics.rateLimited().increment();
+    // Mirror the CORS headers the controller would have added, so browsers
+    // can read the 429.
+    CorsConfiguration cors = corsConfigurationSource.getCorsConfiguration(
+      request
+    );
+    if (
+      cors != null && !corsProcessor.processRequest(cors, request, response)
+    ) {
+      return;
+    }
+    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    response.setHeader(
+      HttpHeaders.RETRY_AFTER,
+      Long.toString(Math.max(1, toSeconds(probe.getNanosToWaitForRefill())))
+    );
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    byte[] timestamp = Instant.now()
+      .toString()
+      .getBytes(StandardCharsets.US_ASCII);
+    response.setContentLength(
+      BODY_PREFIX.length + timestamp.length + BODY_SUFFIX.length
+    );
+    ServletOutputStream out = response.getOutputStream();
+    out.write(BODY_PREFIX);
+    out.write(timestamp);
+    out.write(BODY_SUFFIX);
+  }
+
+  private static long toSeconds(long nanos) {
+    long second = TimeUnit.SECONDS.toNanos(1);
+    return (nanos + second - 1) / second;
+  }
+}
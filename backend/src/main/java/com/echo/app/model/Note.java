@@ -4,12 +4,15 @@ package com.echo.app.model;
 
 import java.time.Instant;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 /**
  * MongoDB document representing a note.
  */
 @Document(collection = "notes")
+@CompoundIndex(name = "createdAt_id", def = "{'createdAt': -1, '_id': -1}")
 public class Note {
 
   @Id
@@ -18,6 +21,7 @@ public class Note {
   private String message;
   private String author;
   private Instant createdAt;
+  @Indexed(name = "ipHash")
   private String ipHash;
   private NoteMeta meta;
 
@@ -0,0 +1,46 @@
+// src/main/java/com/echo/app/model/NoteView.java
+
+package com.echo.app.model;
+
+import java.time.Instant;
+
+/**
+ * Read model of a note holding only the publicly visible fields. Used as a
+ * projection type, so queries fetch just these fields and never transfer or
+ * decode {@code ipHash} and {@code meta}.
+ */
+public class NoteView {
+
+  private final String id;
+  private final String message;
+  private final String author;
+  private final Instant createdAt;
+
+  public NoteView(
+    String id,
+    String message,
+    String author,
+    Instant createdAt
+  ) {
+    this.id = id;
+    this.message = message;
+    this.author = author;
+    this.createdAt = createdAt;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  public String getAuthor() {
+    return author;
+  }
+
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+}
@@ -0,0 +1,309 @@
+// src/main/java/com/echo/app/repository/EmbeddedNoteRepository.java
+
+package com.echo.app.repository;
+
+import com.echo.app.model.Note;
+import com.echo.app.model.NoteView;
+import com.echo.app.storage.NoteLog;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+/**
+ * {@link NoteStore} backed by the embedded {@link NoteLog} instead of
+ * MongoDB, active under the {@code embedded} profile.
+ *
+ * <p>Listings and lookups are served from the log's in-memory indexes and
+ * decoded straight from the mapped segments. Notes can only be ordered by
+ * createdAt (then id). The active segment is forced to disk every
+ * {@code echo.embedded.sync-interval-ms} unless
+ * {@code echo.embedded.sync-on-write} forces every write.
+ */
+@Repository
+@Profile("embedded")
+public class EmbeddedNoteRepository implements NoteStore {
+
+  private static final Logger log = LoggerFactory.getLogger(
+    EmbeddedNoteRepository.class
+  );
+
+  private final NoteLog noteLog;
+  private final double compactionMinGarbageRatio;
+
+  public EmbeddedNoteRepository(
+    @Value("${echo.embedded.data-dir:data/notes}") Path dataDir,
+    @Value("${echo.embedded.segment-bytes:67108864}") int segmentBytes,
+    @Value("${echo.embedded.sync-on-write:false}") boolean syncOnWrite,
+    @Value(
+      "${echo.embedded.compaction-min-garbage-ratio:0.5}"
+    ) double compactionMinGarbageRatio
+  ) {
+    try {
+      this.noteLog = NoteLog.open(dataDir, segmentBytes, syncOnWrite);
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to open note log " + dataDir, e);
+    }
+    this.compactionMinGarbageRatio = compactionMinGarbageRatio;
+  }
+
+  @Override
+  public <S extends Note> S save(S entity) {
+    noteLog.put(List.of(withId(entity)));
+    return entity;
+  }
+
+  /**
+   * Inserts notes whose IDs are not stored yet. Like an unordered bulk
+   * write, notes after a duplicate are still written before the exception
+   * is thrown.
+   *
+   * @throws DuplicateKeyException if any note ID is already stored
+   */
+  @Override
+  public <S extends Note> List<S> insert(Iterable<S> entities) {
+    List<S> notes = withIds(entities);
+    Set<Integer> skipped = noteLog.putIfAbsent(new ArrayList<>(notes));
+    if (!skipped.isEmpty()) {
+      throw new DuplicateKeyException(
+        duplicateMessage(notes.get(skipped.iterator().next()).getId())
+      );
+    }
+    return notes;
+  }
+
+  @Override
+  public long count() {
+    return noteLog.size();
+  }
+
+  @Override
+  public Slice<NoteView> findViewsBy(Pageable pageable) {
+    if (pageable.isUnpaged()) {
+      return new SliceImpl<>(
+        noteLog.page(
+          0,
+          Integer.MAX_VALUE,
+          isDescending(pageable.getSort()),
+          NoteLog.VIEWS
+        )
+      );
+    }
+    List<NoteView> views = noteLog.page(
+      pageable.getOffset(),
+      pageable.getPageSize() + 1,
+      isDescending(pageable.getSort()),
+      NoteLog.VIEWS
+    );
+    boolean hasNext = views.size() > pageable.getPageSize();
+    if (hasNext) {
+      views.remove(views.size() - 1);
+    }
+    return new SliceImpl<>(views, pageable, hasNext);
+  }
+
+  @Override
+  public Optional<NoteView> findViewById(String id) {
+    return noteLog.find(id, NoteLog.VIEWS);
+  }
+
+  @Override
+  public List<NoteView> findViewsByIdIn(Collection<String> ids) {
+    List<NoteView> views = new ArrayList<>(ids.size());
+    for (String id : ids) {
+      noteLog.find(id, NoteLog.VIEWS).ifPresent(views::add);
+    }
+    return views;
+  }
+
+  @Override
+  public List<NoteView> findAfter(
+    Instant createdAt,
+    String id,
+    Sort.Direction direction,
+    int limit
+  ) {
+    return noteLog.scan(
+      null,
+      null,
+      createdAt,
+      id,
+      direction.isDescending(),
+      limit,
+      NoteLog.VIEWS
+    );
+  }
+
+  @Override
+  public List<NoteView> findRange(long offset, int limit, Sort sort) {
+    return noteLog.page(offset, limit, isDescending(sort), NoteLog.VIEWS);
+  }
+
+  /**
+   * Streams the range in keyset batches of {@code batchSize}, so the read
+   * lock is only held while each batch is decoded.
+   */
+  @Override
+  public Stream<NoteView> streamRange(Instant from, Instant to, int batchSize) {
+    Iterator<NoteView> batches = new RangeIterator(from, to, batchSize);
+    return StreamSupport.stream(
+      Spliterators.spliteratorUnknownSize(
+        batches,
+        Spliterator.ORDERED | Spliterator.NONNULL
+      ),
+      false
+    );
+  }
+
+  @Override
+  public Map<Integer, String> insertUnordered(List<Note> notes) {
+    Map<Integer, String> failures = new HashMap<>();
+    for (int index : noteLog.putIfAbsent(withIds(notes))) {
+      failures.put(index, duplicateMessage(notes.get(index).getId()));
+    }
+    return failures;
+  }
+
+  @Override
+  public long estimatedCount() {
+    return noteLog.size();
+  }
+
+  /** Forces recent writes to disk. */
+  @Scheduled(fixedDelayString = "${echo.embedded.sync-interval-ms:1000}")
+  public void sync() {
+    noteLog.sync();
+  }
+
+  /** Compacts the sealed segments once enough of them is garbage. */
+  @Scheduled(
+    fixedDelayString = "${echo.embedded.compaction-interval-ms:60000}"
+  )
+  public void compact() {
+    try {
+      noteLog.compact(compactionMinGarbageRatio);
+    } catch (IOException e) {
+      log.error("Note log compaction failed: {}", e.getMessage());
+    }
+  }
+
+  @PreDestroy
+  public void close() {
+    noteLog.close();
+  }
+
+  private static <S extends Note> S withId(S note) {
+    if (note.getId() == null) {
+      note.setId(new ObjectId().toHexString());
+    }
+    return note;
+  }
+
+  private static <S extends Note> List<S> withIds(Iterable<S> entities) {
+    List<S> notes = new ArrayList<>();
+    for (S note : entities) {
+      notes.add(withId(note));
+    }
+    return notes;
+  }
+
+  private static String duplicateMessage(String id) {
+    return "Duplicate key: note " + id + " already exists";
+  }
+
+  // Only (createdAt, id) order is indexed; unsorted reads use it ascending.
+  private static boolean isDescending(Sort sort) {
+    Sort.Direction direction = null;
+    for (Sort.Order order : sort) {
+      if (
+        !"createdAt".equals(order.getProperty()) &&
+        !("id".equals(order.getProperty()) && direction != null)
+      ) {
+        throw new UnsupportedOperationException(
+          "The embedded store can only sort by createdAt, not " +
+          order.getProperty()
+        );
+      }
+      if (direction != null && direction != order.getDirection()) {
+        throw new UnsupportedOperationException(
+          "The embedded store cannot mix sort directions"
+        );
+      }
+      direction = order.getDirection();
+    }
+    return direction == Sort.Direction.DESC;
+  }
+
+  /** Reads a createdAt range batch by batch, resuming after the last key. */
+  private final class RangeIterator implements Iterator<NoteView> {
+
+    private final Instant from;
+    private final Instant to;
+    private final int batchSize;
+    private List<NoteView> batch = List.of();
+    private int position;
+    private boolean exhausted;
+
+    RangeIterator(Instant from, Instant to, int batchSize) {
+      this.from = from;
+      this.to = to;
+      this.batchSize = batchSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (position < batch.size()) {
+        return true;
+      }
+      if (exhausted) {
+        return false;
+      }
+      NoteView last = batch.isEmpty() ? null : batch.get(batch.size() - 1);
+      batch = noteLog.scan(
+        from,
+        to,
+        last != null ? last.getCreatedAt() : null,
+        last != null ? last.getId() : null,
+        false,
+        batchSize,
+        NoteLog.VIEWS
+      );
+      position = 0;
+      exhausted = batch.size() < batchSize;
+      return !batch.isEmpty();
+    }
+
+    @Override
+    public NoteView next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return batch.get(position++);
+    }
+  }
+}
@@ -0,0 +1,402 @@
+// src/main/java/com/echo/app/repository/NoteArchive.java
+
+package com.echo.app.repository;
+
+import com.echo.app.model.Note;
+import com.echo.app.model.NoteView;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Monthly archive collections holding notes moved out of the hot
+ * {@code notes} collection, so that its indexes only cover recent history.
+ *
+ * <p>A note is archived into {@code notes_archive_yyyy_MM} by the UTC month
+ * of its ObjectId timestamp, so a lookup by ID reads exactly one archive
+ * collection. Every archive note is older than every hot note; listings
+ * read the archive after the hot collection when newest first and before
+ * it when oldest first. Archive collection names and sizes are cached and
+ * re-read every {@code echo.notes.count-refresh-ms}, which is enough
+ * because only {@link #moveBefore} changes them.
+ */
+@Repository
+@Profile("!embedded")
+public class NoteArchive {
+
+  static final String COLLECTION_PREFIX = "notes_archive_";
+  private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern(
+    "yyyy_MM"
+  );
+  private static final int DUPLICATE_KEY = 11000;
+
+  private final MongoTemplate mongoTemplate;
+  private final String hotCollection;
+
+  // Archive collection sizes by name, so oldest month first.
+  private volatile NavigableMap<String, Long> collections = new TreeMap<>();
+
+  public NoteArchive(MongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+    this.hotCollection = mongoTemplate.getCollectionName(Note.class);
+  }
+
+  /**
+   * Returns the number of archived notes.
+   *
+   * @return the cached archived note count
+   */
+  public long count() {
+    return collections.values().stream().mapToLong(Long::longValue).sum();
+  }
+
+  /**
+   * Finds the view of an archived note.
+   *
+   * @param id the note ID
+   * @return the note view, or empty if it is not archived
+   */
+  public Optional<NoteView> findViewById(String id) {
+    if (!ObjectId.isValid(id)) {
+      return Optional.empty();
+    }
+    String collection = collectionFor(new ObjectId(id));
+    if (!collections.containsKey(collection)) {
+      return Optional.empty();
+    }
+    return find(collection, Query.query(Criteria.where("id").is(id)))
+      .stream()
+      .findFirst();
+  }
+
+  /**
+   * Finds the views of the archived notes with the given IDs, reading only
+   * the months named by the IDs.
+   *
+   * @param ids the note IDs
+   * @return the archived note views that exist, in no particular order
+   */
+  public List<NoteView> findViewsByIdIn(Collection<String> ids) {
+    Map<String, List<String>> byMonth = new TreeMap<>();
+    for (String id : ids) {
+      if (!ObjectId.isValid(id)) {
+        continue;
+      }
+      String collection = collectionFor(new ObjectId(id));
+      if (collections.containsKey(collection)) {
+        byMonth.computeIfAbsent(collection, month -> new ArrayList<>()).add(id);
+      }
+    }
+    List<NoteView> views = new ArrayList<>();
+    byMonth.forEach((collection, monthIds) ->
+      views.addAll(
+        find(collection, Query.query(Criteria.where("id").in(monthIds)))
+      )
+    );
+    return views;
+  }
+
+  /**
+   * Finds a range of archived note views by offset, skipping whole months
+   * by their cached sizes.
+   *
+   * @param offset    the number of archived notes to skip
+   * @param limit     the maximum number of notes to return
+   * @param direction the ordering direction of (createdAt, id)
+   * @return views of the notes in the range
+   */
+  public List<NoteView> findRange(
+    long offset,
+    int limit,
+    Sort.Direction direction
+  ) {
+    List<NoteView> views = new ArrayList<>();
+    long skip = offset;
+    for (Map.Entry<String, Long> month : months(direction)) {
+      if (views.size() >= limit) {
+        break;
+      }
+      if (skip >= month.getValue()) {
+        skip -= month.getValue();
+        continue;
+      }
+      Query query = new Query()
+        .with(Sort.by(direction, "createdAt", "id"))
+        .skip(skip)
+        .limit(limit - views.size());
+      views.addAll(find(month.getKey(), query));
+      skip = 0;
+    }
+    return views;
+  }
+
+  /**
+   * Finds archived notes strictly after the given (createdAt, id) key, like
+   * {@link NoteRepositoryCustom#findAfter}.
+   */
+  public List<NoteView> findAfter(
+    Instant createdAt,
+    String id,
+    Sort.Direction direction,
+    int limit
+  ) {
+    // Months before (newest first) or after (oldest first) the key's month
+    // cannot hold a match.
+    String keyCollection = id != null && ObjectId.isValid(id)
+      ? collectionFor(new ObjectId(id))
+      : null;
+    List<NoteView> views = new ArrayList<>();
+    for (Map.Entry<String, Long> month : months(direction)) {
+      if (views.size() >= limit) {
+        break;
+      }
+      int order = keyCollection == null
+        ? 0
+        : month.getKey().compareTo(keyCollection);
+      if (direction.isDescending() ? order > 0 : order < 0) {
+        continue;
+      }
+      views.addAll(
+        find(
+          month.getKey(),
+          NoteRepositoryCustomImpl.afterQuery(
+            createdAt,
+            id,
+            direction,
+            limit - views.size()
+          )
+        )
+      );
+    }
+    return views;
+  }
+
+  /**
+   * Streams archived notes created in {@code [from, to)}, oldest first,
+   * followed by the hot notes. Each month's cursor is opened only when the
+   * previous one is drained. The stream must be closed to release the
+   * cursor.
+   *
+   * @param from      the inclusive lower bound, or null for no lower bound
+   * @param to        the exclusive upper bound, or null for no upper bound
+   * @param batchSize the number of documents fetched per cursor round trip
+   * @param hot       opens the stream of hot notes in the same range
+   * @return a lazily fetched stream of note views
+   */
+  public Stream<NoteView> streamRange(
+    Instant from,
+    Instant to,
+    int batchSize,
+    Supplier<Stream<NoteView>> hot
+  ) {
+    List<Supplier<Stream<NoteView>>> parts = new ArrayList<>();
+    for (Map.Entry<String, Long> month : months(Sort.Direction.ASC)) {
+      parts.add(() ->
+        mongoTemplate
+          .query(Note.class)
+          .inCollection(month.getKey())
+          .as(NoteView.class)
+          .matching(NoteRepositoryCustomImpl.rangeQuery(from, to, batchSize))
+          .stream()
+      );
+    }
+    parts.add(hot);
+    ConcatIterator iterator = new ConcatIterator(parts.iterator());
+    return StreamSupport.stream(
+      Spliterators.spliteratorUnknownSize(
+        iterator,
+        Spliterator.ORDERED | Spliterator.NONNULL
+      ),
+      false
+    ).onClose(iterator::close);
+  }
+
+  /**
+   * Moves the oldest hot notes created before a cutoff into their archive
+   * collections. Notes are copied before they are deleted, and copies left
+   * by an interrupted run are skipped, so a failed move is simply retried.
+   * Notes whose ID is not an ObjectId have no archive month and are left
+   * in the hot collection; the query skips them so they cannot stall the
+   * batches behind them.
+   *
+   * @param cutoff    notes created before this instant are moved
+   * @param batchSize the maximum number of notes to move
+   * @return the number of notes moved
+   */
+  public int moveBefore(Instant cutoff, int batchSize) {
+    Query query = Query.query(
+      Criteria.where("createdAt")
+        .lt(cutoff)
+        .and("_id")
+        .type(JsonSchemaObject.Type.OBJECT_ID)
+    )
+      .with(Sort.by(Sort.Direction.ASC, "createdAt", "_id"))
+      .limit(batchSize);
+    List<Document> notes = mongoTemplate.find(
+      query,
+      Document.class,
+      hotCollection
+    );
+    if (notes.isEmpty()) {
+      return 0;
+    }
+    Map<String, List<Document>> byMonth = new LinkedHashMap<>();
+    List<Object> ids = new ArrayList<>(notes.size());
+    for (Document note : notes) {
+      ObjectId id = note.getObjectId("_id");
+      byMonth
+        .computeIfAbsent(collectionFor(id), month -> new ArrayList<>())
+        .add(note);
+      ids.add(id);
+    }
+    for (Map.Entry<String, List<Document>> month : byMonth.entrySet()) {
+      copy(month.getKey(), month.getValue());
+    }
+    mongoTemplate.remove(
+      Query.query(Criteria.where("_id").in(ids)),
+      hotCollection
+    );
+    return ids.size();
+  }
+
+  /**
+   * Re-reads the archive collection names and sizes.
+   */
+  @Scheduled(fixedDelayString = "${echo.notes.count-refresh-ms:30000}")
+  public void refresh() {
+    NavigableMap<String, Long> sizes = new TreeMap<>();
+    for (String name : mongoTemplate.getCollectionNames()) {
+      if (name.startsWith(COLLECTION_PREFIX)) {
+        long size = mongoTemplate.getCollection(name).estimatedDocumentCount();
+        sizes.put(name, size);
+      }
+    }
+    collections = sizes;
+  }
+
+  static String collectionFor(ObjectId id) {
+    return (
+      COLLECTION_PREFIX +
+      YearMonth.from(id.getDate().toInstant().atOffset(ZoneOffset.UTC)).format(
+        MONTH
+      )
+    );
+  }
+
+  private void copy(String collection, List<Document> notes) {
+    if (!collections.containsKey(collection)) {
+      mongoTemplate
+        .indexOps(collection)
+        .ensureIndex(
+          new Index()
+            .on("createdAt", Sort.Direction.DESC)
+            .on("_id", Sort.Direction.DESC)
+            .named("createdAt_id")
+        );
+    }
+    try {
+      mongoTemplate
+        .bulkOps(BulkOperations.BulkMode.UNORDERED, collection)
+        .insert(notes)
+        .execute();
+    } catch (BulkOperationException e) {
+      boolean onlyDuplicates = e
+        .getErrors()
+        .stream()
+        .allMatch(error -> error.getCode() == DUPLICATE_KEY);
+      if (!onlyDuplicates) {
+        throw e;
+      }
+    }
+    NavigableMap<String, Long> sizes = new TreeMap<>(collections);
+    sizes.merge(collection, (long) notes.size(), Long::sum);
+    collections = sizes;
+  }
+
+  private List<NoteView> find(String collection, Query query) {
+    return mongoTemplate
+      .query(Note.class)
+      .inCollection(collection)
+      .as(NoteView.class)
+      .matching(query)
+      .all();
+  }
+
+  private Iterable<Map.Entry<String, Long>> months(Sort.Direction direction) {
+    NavigableMap<String, Long> months = collections;
+    return direction.isDescending()
+      ? months.descendingMap().entrySet()
+      : months.entrySet();
+  }
+
+  // Stream.flatMap would buffer a whole month when read through an
+  // iterator, so streams are chained by hand.
+  private static final class ConcatIterator implements Iterator<NoteView> {
+
+    private final Iterator<Supplier<Stream<NoteView>>> parts;
+    private Stream<NoteView> current;
+    private Iterator<NoteView> notes = Collections.emptyIterator();
+
+    ConcatIterator(Iterator<Supplier<Stream<NoteView>>> parts) {
+      this.parts = parts;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (!notes.hasNext()) {
+        close();
+        if (!parts.hasNext()) {
+          return false;
+        }
+        current = parts.next().get();
+        notes = current.iterator();
+      }
+      return true;
+    }
+
+    @Override
+    public NoteView next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return notes.next();
+    }
+
+    void close() {
+      if (current != null) {
+        current.close();
+        current = null;
+      }
+    }
+  }
+}
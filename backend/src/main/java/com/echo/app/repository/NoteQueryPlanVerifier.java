@@ -0,0 +1,154 @@
+// src/main/java/com/echo/app/repository/NoteQueryPlanVerifier.java
+
+package com.echo.app.repository;
+
+import com.echo.app.model.Note;
+import com.mongodb.ExplainVerbosity;
+import com.mongodb.MongoException;
+import com.mongodb.client.FindIterable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+/**
+ * Explains every listing query shape at startup and reports plans that scan
+ * the whole collection ({@code COLLSCAN}) or sort in memory ({@code SORT}).
+ *
+ * <p>With {@code echo.query-plans.check=fail} such a plan aborts startup,
+ * which is meant for CI and staging against a real MongoDB; {@code warn}
+ * only logs and {@code off} skips the check.
+ */
+@Component
+@Profile("!embedded")
+public class NoteQueryPlanVerifier implements SmartInitializingSingleton {
+
+  private static final Logger log = LoggerFactory.getLogger(
+    NoteQueryPlanVerifier.class
+  );
+
+  private static final List<String> REJECTED_STAGES = List.of(
+    "COLLSCAN",
+    "SORT"
+  );
+
+  private final MongoTemplate mongoTemplate;
+  private final String mode;
+
+  public NoteQueryPlanVerifier(
+    MongoTemplate mongoTemplate,
+    @Value("${echo.query-plans.check:warn}") String mode
+  ) {
+    this.mongoTemplate = mongoTemplate;
+    this.mode = mode;
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    if ("off".equalsIgnoreCase(mode)) {
+      return;
+    }
+    List<String> problems = new ArrayList<>();
+    for (Map.Entry<String, Query> shape : listingQueries().entrySet()) {
+      try {
+        List<String> stages = rejectedStages(explain(shape.getValue()));
+        if (!stages.isEmpty()) {
+          problems.add(shape.getKey() + " uses " + stages);
+        }
+      } catch (DataAccessException | MongoException e) {
+        // Usually a server without explain support; the rest would fail too.
+        log.warn("Could not explain {}: {}", shape.getKey(), e.getMessage());
+        return;
+      }
+    }
+    if (problems.isEmpty()) {
+      log.info("All note listing queries are served by indexes");
+      return;
+    }
+    String message = "Note listing queries not served by an index: " + problems;
+    if ("fail".equalsIgnoreCase(mode)) {
+      throw new IllegalStateException(message);
+    }
+    log.warn(message);
+  }
+
+  /**
+   * Returns the query shapes issued by the listing endpoints, keyed by a
+   * description.
+   */
+  static Map<String, Query> listingQueries() {
+    Instant createdAt = Instant.now();
+    String id = new ObjectId().toHexString();
+    Map<String, Query> queries = new LinkedHashMap<>();
+    for (Sort.Direction direction : Sort.Direction.values()) {
+      String name = direction.name().toLowerCase();
+      queries.put(
+        "page " + name,
+        new Query().with(
+          PageRequest.of(2, 20, Sort.by(direction, "createdAt", "id"))
+        )
+      );
+      queries.put(
+        "first cursor page " + name,
+        NoteRepositoryCustomImpl.afterQuery(null, null, direction, 21)
+      );
+      queries.put(
+        "cursor page " + name,
+        NoteRepositoryCustomImpl.afterQuery(createdAt, id, direction, 21)
+      );
+    }
+    return queries;
+  }
+
+  private Document explain(Query query) {
+    MongoPersistentEntity<?> entity = mongoTemplate
+      .getConverter()
+      .getMappingContext()
+      .getRequiredPersistentEntity(Note.class);
+    QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+    FindIterable<Document> find = mongoTemplate
+      .getCollection(mongoTemplate.getCollectionName(Note.class))
+      .find(queryMapper.getMappedObject(query.getQueryObject(), entity))
+      .sort(queryMapper.getMappedSort(query.getSortObject(), entity))
+      .skip((int) query.getSkip())
+      .limit(query.getLimit());
+    return find.explain(ExplainVerbosity.QUERY_PLANNER);
+  }
+
+  private static List<String> rejectedStages(Document explain) {
+    Document planner = explain.get("queryPlanner", Document.class);
+    List<String> stages = new ArrayList<>();
+    collectStages(planner == null ? null : planner.get("winningPlan"), stages);
+    return stages;
+  }
+
+  // Walks the plan tree; stages nest under inputStage, inputStages and, with
+  // the slot-based engine, queryPlan.
+  private static void collectStages(Object node, List<String> stages) {
+    if (node instanceof Document plan) {
+      Object stage = plan.get("stage");
+      if (stage instanceof String name && REJECTED_STAGES.contains(name)) {
+        stages.add(name);
+      }
+      plan.values().forEach(value -> collectStages(value, stages));
+    } else if (node instanceof List<?> children) {
+      children.forEach(child -> collectStages(child, stages));
+    }
+  }
+}
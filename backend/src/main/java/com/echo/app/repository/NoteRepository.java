@@ -7,7 +7,10 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 /**
- * Spring Data MongoDB repository for Note documents.
+ * Spring Data MongoDB repository for Note documents. The view queries are
+ * derived from their declarations in {@link NoteStore}.
  */
 @Repository
-public interface NoteRepository extends MongoRepository<Note, String> {}
+public interface NoteRepository
+  // NoteRepositoryCustom is listed directly so Spring Data finds its Impl.
+  extends MongoRepository<Note, String>, NoteStore, NoteRepositoryCustom {}
@@ -0,0 +1,74 @@
+// src/main/java/com/echo/app/repository/NoteRepositoryCustom.java
+
+package com.echo.app.repository;
+
+import com.echo.app.model.Note;
+import com.echo.app.model.NoteView;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Custom query fragment for {@link NoteRepository}.
+ */
+public interface NoteRepositoryCustom {
+  /**
+   * Finds notes strictly after the given (createdAt, id) key in the given
+   * direction, using a range query instead of skipping documents.
+   *
+   * @param createdAt the createdAt of the last seen note, or null to start
+   *                  from the beginning
+   * @param id        the id of the last seen note, or null to start from the
+   *                  beginning
+   * @param direction the ordering direction of (createdAt, id)
+   * @param limit     the maximum number of notes to return
+   * @return views of the matching notes in key order
+   */
+  List<NoteView> findAfter(
+    Instant createdAt,
+    String id,
+    Sort.Direction direction,
+    int limit
+  );
+
+  /**
+   * Finds a range of note views by offset without issuing a count query.
+   *
+   * @param offset the number of notes to skip
+   * @param limit  the maximum number of notes to return
+   * @param sort   the sort order
+   * @return views of the notes in the range
+   */
+  List<NoteView> findRange(long offset, int limit, Sort sort);
+
+  /**
+   * Streams notes created in {@code [from, to)} in (createdAt, id) order from
+   * a server-side cursor. The stream must be closed to release the cursor.
+   *
+   * @param from      the inclusive lower bound, or null for no lower bound
+   * @param to        the exclusive upper bound, or null for no upper bound
+   * @param batchSize the number of documents fetched per cursor round trip
+   * @return a lazily fetched stream of note views
+   */
+  Stream<NoteView> streamRange(Instant from, Instant to, int batchSize);
+
+  /**
+   * Inserts notes with a single unordered bulk write, so one failed document
+   * does not stop the others from being written.
+   *
+   * @param notes the notes to insert, with their IDs assigned
+   * @return the error message for each failed note, keyed by its index in
+   *         {@code notes}; empty if every note was written
+   */
+  Map<Integer, String> insertUnordered(List<Note> notes);
+
+  /**
+   * Returns the collection-metadata estimate of the number of notes, which
+   * does not scan the collection.
+   *
+   * @return the estimated note count
+   */
+  long estimatedCount();
+}
@@ -0,0 +1,140 @@
+// src/main/java/com/echo/app/repository/NoteRepositoryCustomImpl.java
+
+package com.echo.app.repository;
+
+import com.echo.app.model.Note;
+import com.echo.app.model.NoteView;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+/**
+ * MongoTemplate-backed implementation of {@link NoteRepositoryCustom}.
+ */
+class NoteRepositoryCustomImpl implements NoteRepositoryCustom {
+
+  private final MongoTemplate mongoTemplate;
+
+  NoteRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  @Override
+  public List<NoteView> findAfter(
+    Instant createdAt,
+    String id,
+    Sort.Direction direction,
+    int limit
+  ) {
+    return mongoTemplate
+      .query(Note.class)
+      .as(NoteView.class)
+      .matching(afterQuery(createdAt, id, direction, limit))
+      .all();
+  }
+
+  @Override
+  public List<NoteView> findRange(long offset, int limit, Sort sort) {
+    return mongoTemplate
+      .query(Note.class)
+      .as(NoteView.class)
+      .matching(new Query().with(sort).skip(offset).limit(limit))
+      .all();
+  }
+
+  @Override
+  public Stream<NoteView> streamRange(Instant from, Instant to, int batchSize) {
+    return mongoTemplate
+      .query(Note.class)
+      .as(NoteView.class)
+      .matching(rangeQuery(from, to, batchSize))
+      .stream();
+  }
+
+  @Override
+  public Map<Integer, String> insertUnordered(List<Note> notes) {
+    Map<Integer, String> failures = new HashMap<>();
+    if (notes.isEmpty()) {
+      return failures;
+    }
+    try {
+      mongoTemplate
+        .bulkOps(BulkOperations.BulkMode.UNORDERED, Note.class)
+        .insert(notes)
+        .execute();
+    } catch (BulkOperationException e) {
+      e
+        .getErrors()
+        .forEach(error -> failures.put(error.getIndex(), error.getMessage()));
+    }
+    return failures;
+  }
+
+  @Override
+  public long estimatedCount() {
+    return mongoTemplate.estimatedCount(Note.class);
+  }
+
+  /**
+   * Builds the keyset query used by {@link #findAfter}; also explained by
+   * {@link NoteQueryPlanVerifier}.
+   */
+  static Query afterQuery(
+    Instant createdAt,
+    String id,
+    Sort.Direction direction,
+    int limit
+  ) {
+    Query query = new Query();
+    if (createdAt != null && id != null) {
+      query.addCriteria(keysetCriteria(createdAt, id, direction));
+    }
+    return query.with(Sort.by(direction, "createdAt", "id")).limit(limit);
+  }
+
+  /**
+   * Builds the createdAt range query used by {@link #streamRange}; also used
+   * for the archive collections.
+   */
+  static Query rangeQuery(Instant from, Instant to, int batchSize) {
+    Query query = new Query();
+    if (from != null || to != null) {
+      Criteria createdAt = Criteria.where("createdAt");
+      if (from != null) {
+        createdAt.gte(from);
+      }
+      if (to != null) {
+        createdAt.lt(to);
+      }
+      query.addCriteria(createdAt);
+    }
+    return query
+      .with(Sort.by(Sort.Direction.ASC, "createdAt", "id"))
+      .cursorBatchSize(batchSize);
+  }
+
+  private static Criteria keysetCriteria(
+    Instant createdAt,
+    String id,
+    Sort.Direction direction
+  ) {
+    if (direction.isAscending()) {
+      return new Criteria().orOperator(
+        Criteria.where("createdAt").gt(createdAt),
+        Criteria.where("createdAt").is(createdAt).and("id").gt(id)
+      );
+    }
+    return new Criteria().orOperator(
+      Criteria.where("createdAt").lt(createdAt),
+      Criteria.where("createdAt").is(createdAt).and("id").lt(id)
+    );
+  }
+}
@@ -0,0 +1,67 @@
+// src/main/java/com/echo/app/repository/NoteStore.java
+
+package com.echo.app.repository;
+
+import com.echo.app.model.Note;
+import com.echo.app.model.NoteView;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+/**
+ * The note storage operations the servlet services use. Implemented by the
+ * MongoDB {@link NoteRepository} and, under the {@code embedded} profile,
+ * by {@link EmbeddedNoteRepository}.
+ */
+public interface NoteStore extends NoteRepositoryCustom {
+  /**
+   * Saves a note, replacing any stored note with the same ID.
+   *
+   * @param note the note; an ID is assigned if it has none
+   * @return the saved note
+   */
+  <S extends Note> S save(S note);
+
+  /**
+   * Inserts notes whose IDs are not stored yet.
+   *
+   * @param notes the notes; IDs are assigned to those that have none
+   * @return the inserted notes
+   * @throws org.springframework.dao.DuplicateKeyException if any note ID is
+   *         already stored
+   */
+  <S extends Note> List<S> insert(Iterable<S> notes);
+
+  /**
+   * Counts the stored notes exactly.
+   *
+   * @return the note count
+   */
+  long count();
+
+  /**
+   * Finds a slice of note views without issuing a count query.
+   *
+   * @param pageable the page request
+   * @return the slice of note views
+   */
+  Slice<NoteView> findViewsBy(Pageable pageable);
+
+  /**
+   * Finds the view of a single note.
+   *
+   * @param id the note ID
+   * @return the note view, or empty if not found
+   */
+  Optional<NoteView> findViewById(String id);
+
+  /**
+   * Finds the views of the notes with the given IDs, in no particular order.
+   *
+   * @param ids the note IDs
+   * @return the note views that exist
+   */
+  List<NoteView> findViewsByIdIn(Collection<String> ids);
+}
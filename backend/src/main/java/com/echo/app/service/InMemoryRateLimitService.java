@@ -0,0 +1,77 @@
+// src/main/java/com/echo/app/service/InMemoryRateLimitService.java
+
+package com.echo.app.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Rate limiting service using Bucket4j with in-memory token buckets per IP
+ * hash. Limits are enforced per JVM.
+ *
+ * <p>Buckets live in a bounded Caffeine cache. A bucket that has been idle
+ * for a full refill period is indistinguishable from a new one, so idle
+ * buckets expire after that period; the key count is additionally capped to
+ * keep memory flat during floods of unique clients.
+ */
+@Service
+@ConditionalOnProperty(
+  name = "echo.rate-limit.mode",
+  havingValue = "memory",
+  matchIfMissing = true
+)
+public class InMemoryRateLimitService implements RateLimitService {
+
+  private static final Duration REFILL_PERIOD = Duration.ofMinutes(1);
+
+  private final Cache<String, Bucket> buckets;
+  private final int limitPerMinute;
+
+  public InMemoryRateLimitService(
+    @Value("${echo.rate-limit-per-minute:5}") int limitPerMinute,
+    @Value("${echo.rate-limit.max-keys:100000}") long maxKeys,
+    MeterRegistry meterRegistry
+  ) {
+    this.limitPerMinute = limitPerMinute;
+    this.buckets = Caffeine.newBuilder()
+      .maximumSize(maxKeys)
+      .expireAfterAccess(REFILL_PERIOD)
+      .recordStats()
+      .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rate-limit-buckets");
+  }
+
+  @Override
+  public ConsumptionProbe tryConsumeAndReturnRemaining(String key) {
+    Bucket bucket = buckets.get(key, this::createBucket);
+    return bucket.tryConsumeAndReturnRemaining(1);
+  }
+
+  @Override
+  public int getLimitPerMinute() {
+    return limitPerMinute;
+  }
+
+  // Visible for tests; runs pending evictions first so the size is settled.
+  long estimatedSize() {
+    buckets.cleanUp();
+    return buckets.estimatedSize();
+  }
+
+  private Bucket createBucket(String key) {
+    Bandwidth limit = Bandwidth.builder()
+      .capacity(limitPerMinute)
+      .refillGreedy(limitPerMinute, REFILL_PERIOD)
+      .build();
+    return Bucket.builder().addLimit(limit).build();
+  }
+}
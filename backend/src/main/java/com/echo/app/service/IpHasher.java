@@ -0,0 +1,165 @@
+// src/main/java/com/echo/app/service/IpHasher.java
+
+package com.echo.app.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hashes client IP addresses with a secret salt so that raw IPs are never
+ * stored.
+ *
+ * <p>Digests and their input and output buffers are reused from a small
+ * lock-free pool of slots rather than thread locals, which would give every
+ * virtual thread its own copy. Recent results are kept in a fixed-size,
+ * direct-mapped cache so that repeat posters skip hashing altogether; a
+ * miss simply overwrites its slot, so floods of unique addresses cost no
+ * more than hashing does.
+ */
+@Component
+public class IpHasher {
+
+  private static final HexFormat HEX = HexFormat.of();
+  private static final String CACHE_NAME = "ip-hashes";
+
+  private final byte[] saltBytes;
+  private final AtomicReferenceArray<HashBuffers> pool;
+  private final int poolMask;
+  private final CachedHash[] cache;
+  private final Counter hits;
+  private final Counter misses;
+
+  public IpHasher(
+    @Value("${echo.ip-salt}") String ipSalt,
+    @Value("${echo.ip-hash.cache-size:10000}") long cacheSize,
+    MeterRegistry meterRegistry
+  ) {
+    this.saltBytes = ipSalt.getBytes(StandardCharsets.UTF_8);
+    int slots = Integer.highestOneBit(
+      Math.max(1, Runtime.getRuntime().availableProcessors()) * 4 - 1
+    ) << 1;
+    this.pool = new AtomicReferenceArray<>(slots);
+    this.poolMask = slots - 1;
+    int cacheSlots = cacheSize > 0
+      ? Integer.highestOneBit((int) Math.min(cacheSize, 1 << 24) * 2 - 1)
+      : 0;
+    this.cache = new CachedHash[cacheSlots];
+    this.hits = Counter.builder("cache.gets")
+      .tag("cache", CACHE_NAME)
+      .tag("result", "hit")
+      .register(meterRegistry);
+    this.misses = Counter.builder("cache.gets")
+      .tag("cache", CACHE_NAME)
+      .tag("result", "miss")
+      .register(meterRegistry);
+  }
+
+  /**
+   * Returns the salted SHA-256 hash of an IP address as lowercase hex.
+   *
+   * @param ip the client IP address
+   * @return the hex-encoded hash
+   */
+  public String hash(String ip) {
+    if (cache.length == 0) {
+      return computeHash(ip);
+    }
+    int slot = spread(ip.hashCode()) & (cache.length - 1);
+    CachedHash cached = cache[slot];
+    if (cached != null && cached.ip.equals(ip)) {
+      hits.increment();
+      return cached.hash;
+    }
+    misses.increment();
+    String hash = computeHash(ip);
+    // Entries are immutable, so racy publication to other threads is safe.
+    cache[slot] = new CachedHash(ip, hash);
+    return hash;
+  }
+
+  /**
+   * Hashes an IP address without consulting the cache. The result equals
+   * SHA-256 over the UTF-8 bytes of {@code ip + salt}.
+   */
+  String computeHash(String ip) {
+    int slot = (int) Thread.currentThread().threadId() & poolMask;
+    HashBuffers buffers = pool.getAndSet(slot, null);
+    if (buffers == null) {
+      buffers = new HashBuffers();
+    }
+    try {
+      MessageDigest digest = buffers.digest;
+      digest.reset();
+      int length = encode(ip, buffers);
+      if (length < 0) {
+        digest.update(ip.getBytes(StandardCharsets.UTF_8));
+      } else {
+        digest.update(buffers.input, 0, length);
+      }
+      digest.update(saltBytes);
+      digest.digest(buffers.hash, 0, buffers.hash.length);
+      return HEX.formatHex(buffers.hash);
+    } catch (DigestException e) {
+      throw new IllegalStateException("SHA-256 digest failed", e);
+    } finally {
+      pool.compareAndSet(slot, null, buffers);
+    }
+  }
+
+  // Copies an ASCII address into the reusable input buffer; returns -1 for
+  // anything else so the caller falls back to UTF-8 encoding.
+  private static int encode(String ip, HashBuffers buffers) {
+    int length = ip.length();
+    if (length > buffers.input.length) {
+      return -1;
+    }
+    byte[] input = buffers.input;
+    for (int i = 0; i < length; i++) {
+      char c = ip.charAt(i);
+      if (c >= 0x80) {
+        return -1;
+      }
+      input[i] = (byte) c;
+    }
+    return length;
+  }
+
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+
+  private static final class CachedHash {
+
+    final String ip;
+    final String hash;
+
+    CachedHash(String ip, String hash) {
+      this.ip = ip;
+      this.hash = hash;
+    }
+  }
+
+  private static final class HashBuffers {
+
+    // Long enough for any textual IPv6 address, including a zone ID.
+    final byte[] input = new byte[64];
+    final byte[] hash = new byte[32];
+    final MessageDigest digest;
+
+    HashBuffers() {
+      try {
+        this.digest = MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException e) {
+        throw new RuntimeException("SHA-256 not available", e);
+      }
+    }
+  }
+}
@@ -0,0 +1,178 @@
+// src/main/java/com/echo/app/service/MongoRateLimitService.java
+
+package com.echo.app.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+/**
+ * Cluster-wide rate limiting that keeps per-key counters in MongoDB.
+ *
+ * <p>Each key gets a fixed one-minute window counter in the
+ * {@code rate_limits} collection, expired by a TTL index. Instead of a
+ * round-trip per request, a replica leases up to {@code lease-size} tokens
+ * at once with a single atomic {@code $inc} and spends them locally; a key
+ * whose window is exhausted is remembered locally until the window ends.
+ * Leased tokens a replica does not spend are forfeited, so larger leases
+ * trade a slightly stricter effective limit for fewer round-trips.
+ */
+@Service
+@ConditionalOnProperty(name = "echo.rate-limit.mode", havingValue = "mongo")
+public class MongoRateLimitService implements RateLimitService {
+
+  private static final Logger log = LoggerFactory.getLogger(
+    MongoRateLimitService.class
+  );
+
+  static final String COLLECTION = "rate_limits";
+  private static final long WINDOW_MILLIS = Duration.ofMinutes(1).toMillis();
+
+  private final MongoTemplate mongoTemplate;
+  private final int limitPerMinute;
+  private final int leaseSize;
+  private final Cache<String, KeyState> leases;
+  private final Counter leaseRequests;
+
+  public MongoRateLimitService(
+    MongoTemplate mongoTemplate,
+    MeterRegistry meterRegistry,
+    @Value("${echo.rate-limit-per-minute:5}") int limitPerMinute,
+    @Value("${echo.rate-limit.max-keys:100000}") long maxKeys,
+    @Value("${echo.rate-limit.lease-size:2}") int leaseSize
+  ) {
+    this.mongoTemplate = mongoTemplate;
+    this.limitPerMinute = limitPerMinute;
+    this.leaseSize = Math.max(1, Math.min(leaseSize, limitPerMinute));
+    this.leases = Caffeine.newBuilder()
+      .maximumSize(maxKeys)
+      .expireAfterAccess(Duration.ofMillis(WINDOW_MILLIS))
+      .recordStats()
+      .build();
+    this.leaseRequests = Counter.builder("echo.rate-limit.lease.requests")
+      .description("Token leases requested from MongoDB")
+      .register(meterRegistry);
+    CaffeineCacheMetrics.monitor(meterRegistry, leases, "rate-limit-leases");
+  }
+
+  @PostConstruct
+  void ensureTtlIndex() {
+    try {
+      mongoTemplate
+        .indexOps(COLLECTION)
+        .ensureIndex(
+          new Index("expireAt", Sort.Direction.ASC).expire(Duration.ZERO)
+        );
+    } catch (DataAccessException e) {
+      log.warn("Failed to ensure rate limit TTL index: {}", e.getMessage());
+    }
+  }
+
+  @Override
+  public ConsumptionProbe tryConsumeAndReturnRemaining(String key) {
+    long now = System.currentTimeMillis();
+    long window = now / WINDOW_MILLIS;
+    long nanosToReset = TimeUnit.MILLISECONDS.toNanos(
+      (window + 1) * WINDOW_MILLIS - now
+    );
+    KeyState state = leases.get(key, k -> new KeyState());
+    state.lock.lock();
+    try {
+      if (state.window != window) {
+        state.window = window;
+        state.tokens = 0;
+        state.exhausted = false;
+      }
+      if (state.tokens == 0 && !state.exhausted) {
+        int granted = lease(key, window);
+        if (granted == 0) {
+          state.exhausted = true;
+        }
+        state.tokens = granted;
+      }
+      if (state.tokens == 0) {
+        return ConsumptionProbe.rejected(0, nanosToReset, nanosToReset);
+      }
+      // Remaining reflects this replica's lease; other replicas may hold more.
+      state.tokens--;
+      return ConsumptionProbe.consumed(state.tokens, nanosToReset);
+    } finally {
+      state.lock.unlock();
+    }
+  }
+
+  @Override
+  public int getLimitPerMinute() {
+    return limitPerMinute;
+  }
+
+  private int lease(String key, long window) {
+    leaseRequests.increment();
+    Query query = Query.query(Criteria.where("_id").is(key + ":" + window));
+    Update update = new Update()
+      .inc("count", leaseSize)
+      .setOnInsert("expireAt", new Date((window + 2) * WINDOW_MILLIS));
+    FindAndModifyOptions options = FindAndModifyOptions.options()
+      .upsert(true)
+      .returnNew(true);
+    try {
+      Document counter;
+      try {
+        counter = mongoTemplate.findAndModify(
+          query,
+          update,
+          options,
+          Document.class,
+          COLLECTION
+        );
+      } catch (DuplicateKeyException e) {
+        // Concurrent upsert from another replica; the document exists now.
+        counter = mongoTemplate.findAndModify(
+          query,
+          update,
+          options,
+          Document.class,
+          COLLECTION
+        );
+      }
+      long before = counter.get("count", Number.class).longValue() - leaseSize;
+      return (int) Math.max(0, Math.min(leaseSize, limitPerMinute - before));
+    } catch (DataAccessException e) {
+      // Fail open: an unreachable database should not block posting on its
+      // own, and the write itself will fail if MongoDB is really down.
+      log.warn("Rate limit lease failed for key {}: {}", key, e.getMessage());
+      return 1;
+    }
+  }
+
+  private static final class KeyState {
+
+    final ReentrantLock lock = new ReentrantLock();
+    long window = -1;
+    int tokens;
+    boolean exhausted;
+  }
+}
@@ -0,0 +1,90 @@
+// src/main/java/com/echo/app/service/NoteArchiver.java
+
+package com.echo.app.service;
+
+import com.echo.app.repository.NoteArchive;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Periodically moves notes older than the hot retention period from the
+ * {@code notes} collection into the monthly {@link NoteArchive}, so the hot
+ * collection and its indexes stay sized to recent traffic.
+ *
+ * <p>Notes are moved oldest first in batches of
+ * {@code echo.archive.batch-size} until none is older than
+ * {@code echo.archive.hot-days}. Moving is idempotent, so several replicas
+ * may run it, though one is enough.
+ */
+@Service
+@Profile("!embedded")
+public class NoteArchiver {
+
+  private static final Logger log = LoggerFactory.getLogger(
+    NoteArchiver.class
+  );
+
+  private final NoteArchive noteArchive;
+  private final boolean enabled;
+  private final Duration hotPeriod;
+  private final int batchSize;
+  private final Counter archived;
+
+  public NoteArchiver(
+    NoteArchive noteArchive,
+    MeterRegistry meterRegistry,
+    @Value("${echo.archive.enabled:false}") boolean enabled,
+    @Value("${echo.archive.hot-days:90}") int hotDays,
+    @Value("${echo.archive.batch-size:1000}") int batchSize
+  ) {
+    this.noteArchive = noteArchive;
+    this.enabled = enabled;
+    this.hotPeriod = Duration.ofDays(hotDays);
+    this.batchSize = batchSize;
+    this.archived = Counter.builder("echo.notes.archived")
+      .description("Notes moved from the hot collection to the archive")
+      .register(meterRegistry);
+  }
+
+  /**
+   * Moves every note older than the hot period into the archive.
+   */
+  @Scheduled(
+    fixedDelayString = "${echo.archive.interval-ms:3600000}",
+    initialDelayString = "${echo.archive.interval-ms:3600000}"
+  )
+  public void archive() {
+    if (!enabled) {
+      return;
+    }
+    long started = System.nanoTime();
+    Instant cutoff = Instant.now().minus(hotPeriod);
+    long total = 0;
+    try {
+      int moved;
+      do {
+        moved = noteArchive.moveBefore(cutoff, batchSize);
+        archived.increment(moved);
+        total += moved;
+      } while (moved == batchSize);
+    } catch (RuntimeException e) {
+      log.error("Archiving notes failed: {}", e.getMessage());
+    }
+    if (total > 0) {
+      log.info(
+        "Archived {} notes created before {} in {} ms",
+        total,
+        cutoff,
+        (System.nanoTime() - started) / 1_000_000
+      );
+    }
+  }
+}
@@ -0,0 +1,130 @@
+// src/main/java/com/echo/app/service/NoteChangeStreamListener.java
+
+package com.echo.app.service;
+
+import com.echo.app.dto.NoteResponse;
+import com.echo.app.model.Note;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Feeds {@link NoteStreamService} from a MongoDB change stream on the notes
+ * collection, so that subscribers on every replica see notes created on any
+ * replica. Requires a replica set; the stream is resumed from the last seen
+ * token after errors.
+ */
+@Service
+@ConditionalOnProperty(name = "echo.stream.source", havingValue = "change-stream")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class NoteChangeStreamListener implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(
+    NoteChangeStreamListener.class
+  );
+
+  private static final long RETRY_DELAY_MILLIS = 1000;
+
+  private final MongoTemplate mongoTemplate;
+  private final NoteStreamService noteStreamService;
+
+  private volatile boolean running;
+  private volatile MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+  private BsonDocument resumeToken;
+  private Thread watcher;
+
+  public NoteChangeStreamListener(
+    MongoTemplate mongoTemplate,
+    NoteStreamService noteStreamService
+  ) {
+    this.mongoTemplate = mongoTemplate;
+    this.noteStreamService = noteStreamService;
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    watcher = Thread.ofPlatform()
+      .daemon(true)
+      .name("note-change-stream")
+      .start(this::watch);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    MongoChangeStreamCursor<?> current = cursor;
+    if (current != null) {
+      current.close();
+    }
+    if (watcher != null) {
+      watcher.interrupt();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void watch() {
+    while (running) {
+      try (
+        MongoChangeStreamCursor<ChangeStreamDocument<Document>> opened = open()
+      ) {
+        cursor = opened;
+        while (running) {
+          ChangeStreamDocument<Document> change = opened.tryNext();
+          if (opened.getResumeToken() != null) {
+            resumeToken = opened.getResumeToken();
+          }
+          if (change != null && change.getFullDocument() != null) {
+            Note note = mongoTemplate
+              .getConverter()
+              .read(Note.class, change.getFullDocument());
+            noteStreamService.publish(NoteResponse.fromEntity(note));
+          }
+        }
+      } catch (RuntimeException e) {
+        if (!running) {
+          return;
+        }
+        log.warn("Note change stream failed, retrying: {}", e.getMessage());
+        try {
+          TimeUnit.MILLISECONDS.sleep(RETRY_DELAY_MILLIS);
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      } finally {
+        cursor = null;
+      }
+    }
+  }
+
+  private MongoChangeStreamCursor<ChangeStreamDocument<Document>> open() {
+    ChangeStreamIterable<Document> stream = mongoTemplate
+      .getCollection(mongoTemplate.getCollectionName(Note.class))
+      .watch(List.of(Aggregates.match(Filters.eq("operationType", "insert"))))
+      .fullDocument(FullDocument.DEFAULT)
+      .maxAwaitTime(1, TimeUnit.SECONDS);
+    if (resumeToken != null) {
+      stream = stream.resumeAfter(resumeToken);
+    }
+    return stream.cursor();
+  }
+}
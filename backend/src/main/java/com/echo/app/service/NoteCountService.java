@@ -0,0 +1,107 @@
+// src/main/java/com/echo/app/service/NoteCountService.java
+
+package com.echo.app.service;
+
+import com.echo.app.repository.NoteArchive;
+import com.echo.app.repository.NoteStore;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Maintains an approximate total number of notes so that listing does not
+ * have to count the collection on every request.
+ *
+ * <p>The total is seeded from the collection metadata estimate, incremented
+ * on every created note, and periodically re-synchronized in the background.
+ */
+@Service
+public class NoteCountService {
+
+  private static final Logger log = LoggerFactory.getLogger(
+    NoteCountService.class
+  );
+
+  private final NoteStore noteStore;
+  // Absent with the embedded store.
+  private final NoteArchive noteArchive;
+  private final AtomicLong total = new AtomicLong(-1);
+
+  public NoteCountService(
+    NoteStore noteStore,
+    Optional<NoteArchive> noteArchive
+  ) {
+    this.noteStore = noteStore;
+    this.noteArchive = noteArchive.orElse(null);
+  }
+
+  /**
+   * Returns the approximate total number of notes.
+   *
+   * @return the approximate note count
+   */
+  public long getApproximateTotal() {
+    long current = total.get();
+    if (current < 0) {
+      refresh();
+      current = Math.max(total.get(), 0);
+    }
+    return current;
+  }
+
+  /**
+   * Reconciles an approximate total with what a fetched slice proves, so
+   * that clients keep paging exactly while a next page exists.
+   *
+   * @param approximateTotal the approximate total
+   * @param page             the page number (0-indexed)
+   * @param size             the page size
+   * @param itemCount        the number of items on the page
+   * @param hasNext          whether a next page exists
+   * @return the total to report
+   */
+  public static long reconcileTotal(
+    long approximateTotal,
+    int page,
+    int size,
+    int itemCount,
+    boolean hasNext
+  ) {
+    long seen = (long) page * size + itemCount;
+    if (hasNext) {
+      return Math.max(approximateTotal, seen + 1);
+    }
+    if (itemCount == 0) {
+      return Math.min(approximateTotal, seen);
+    }
+    return seen;
+  }
+
+  /**
+   * Records newly created notes.
+   *
+   * @param count the number of notes created
+   */
+  public void increment(long count) {
+    total.accumulateAndGet(count, (current, delta) ->
+      current < 0 ? current : current + delta
+    );
+  }
+
+  /**
+   * Re-synchronizes the total with the metadata estimate of the hot
+   * collection plus the archived note count.
+   */
+  @Scheduled(fixedDelayString = "${echo.notes.count-refresh-ms:30000}")
+  public void refresh() {
+    try {
+      long archived = noteArchive != null ? noteArchive.count() : 0;
+      total.set(noteStore.estimatedCount() + archived);
+    } catch (RuntimeException e) {
+      log.warn("Failed to refresh note count: {}", e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,84 @@
+// src/main/java/com/echo/app/service/NoteCursor.java
+
+package com.echo.app.service;
+
+import com.echo.app.exception.InvalidCursorException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Opaque keyset cursor over the (createdAt, id) ordering of notes.
+ *
+ * <p>Encoded as URL-safe base64 of {@code direction:epochMillis:id} so that
+ * clients treat it as an opaque token.
+ */
+public final class NoteCursor {
+
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder()
+    .withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private final Sort.Direction direction;
+  private final Instant createdAt;
+  private final String id;
+
+  public NoteCursor(Sort.Direction direction, Instant createdAt, String id) {
+    this.direction = direction;
+    this.createdAt = createdAt;
+    this.id = id;
+  }
+
+  /**
+   * Decodes a cursor previously produced by {@link #encode()}.
+   *
+   * @param token the opaque cursor token
+   * @return the decoded cursor
+   * @throws InvalidCursorException if the token is malformed
+   */
+  public static NoteCursor decode(String token) {
+    try {
+      String raw = new String(DECODER.decode(token), StandardCharsets.UTF_8);
+      String[] parts = raw.split(":", 3);
+      if (parts.length != 3 || !ObjectId.isValid(parts[2])) {
+        throw new InvalidCursorException("Invalid cursor");
+      }
+      Sort.Direction direction = "a".equals(parts[0])
+        ? Sort.Direction.ASC
+        : Sort.Direction.DESC;
+      Instant createdAt = Instant.ofEpochMilli(Long.parseLong(parts[1]));
+      return new NoteCursor(direction, createdAt, parts[2]);
+    } catch (IllegalArgumentException e) {
+      throw new InvalidCursorException("Invalid cursor");
+    }
+  }
+
+  /**
+   * Encodes this cursor as an opaque URL-safe token.
+   *
+   * @return the cursor token
+   */
+  public String encode() {
+    String raw =
+      (direction.isAscending() ? "a" : "d") +
+      ":" +
+      createdAt.toEpochMilli() +
+      ":" +
+      id;
+    return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public Sort.Direction getDirection() {
+    return direction;
+  }
+
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  public String getId() {
+    return id;
+  }
+}
@@ -0,0 +1,353 @@
+// src/main/java/com/echo/app/service/NoteDeduplicator.java
+
+package com.echo.app.service;
+
+import com.echo.app.exception.DuplicateNoteException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Rejects notes whose message repeats, or nearly repeats, one posted in the
+ * last few minutes, before any sanitizing or database work is spent on it.
+ *
+ * <p>Messages are normalized to lowercase letters and digits separated by
+ * single spaces. Exact repeats are found with a Bloom filter on a 64-bit
+ * hash of the normalized text; the filter has two generations that rotate
+ * every half window, so a message is remembered for between half and the
+ * full window. Near repeats are found with a 64-bit SimHash over the words
+ * and word pairs of the message: the fingerprint is split into four 16-bit
+ * bands, each indexing a table of the latest fingerprint seen with that
+ * band value, and a candidate within {@code echo.dedup.max-distance} bits
+ * is a match. Fingerprints within three bits always share a band; further
+ * apart they share one with falling probability, so a spam wave that keeps
+ * posting variants is caught within a few attempts.
+ *
+ * <p>A checked message is reserved until its note is saved or the save
+ * fails, so copies posted while the first one is still being written are
+ * rejected too rather than slipping through during the save latency.
+ *
+ * <p>All tables are allocated up front, so memory stays fixed whatever the
+ * traffic; the Bloom filter is sized for {@code echo.dedup.expected-notes}
+ * per window at {@code echo.dedup.false-positive-rate}. Messages shorter than
+ * {@code echo.dedup.min-length} after normalization are never checked, so
+ * short replies like "thanks" can repeat freely.
+ */
+@Service
+public class NoteDeduplicator {
+
+  private static final int BANDS = 4;
+  private static final int BAND_BITS = 16;
+
+  private final boolean enabled;
+  private final long halfWindowNanos;
+  private final int minLength;
+  private final int maxDistance;
+  private final NoteMetrics noteMetrics;
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private final int bloomBits;
+  private final int hashCount;
+  private long[] current;
+  private long[] previous;
+  private long rotatedAt;
+
+  private final long[] bandFingerprints = new long[BANDS << BAND_BITS];
+  private final long[] bandSeenAt = new long[BANDS << BAND_BITS];
+  // Checked messages whose notes are still being saved; as many as there
+  // are creates in flight, so a linear scan is cheap.
+  private final List<Fingerprint> pending = new ArrayList<>();
+
+  public NoteDeduplicator(
+    NoteMetrics noteMetrics,
+    @Value("${echo.dedup.enabled:true}") boolean enabled,
+    @Value("${echo.dedup.window-ms:600000}") long windowMs,
+    @Value("${echo.dedup.expected-notes:100000}") int expectedNotes,
+    @Value("${echo.dedup.false-positive-rate:0.001}") double falsePositiveRate,
+    @Value("${echo.dedup.min-length:20}") int minLength,
+    @Value("${echo.dedup.max-distance:6}") int maxDistance
+  ) {
+    this.noteMetrics = noteMetrics;
+    this.enabled = enabled;
+    this.halfWindowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs) / 2;
+    this.minLength = minLength;
+    this.maxDistance = maxDistance;
+    double ln2 = Math.log(2);
+    long bits = (long) Math.ceil(
+      (-expectedNotes * Math.log(falsePositiveRate)) / (ln2 * ln2)
+    );
+    this.bloomBits = (int) Math.min(Integer.MAX_VALUE - 63, (bits + 63) & -64);
+    this.hashCount = Math.max(
+      1,
+      (int) Math.round(((double) bloomBits / expectedNotes) * ln2)
+    );
+    this.current = new long[enabled ? bloomBits / 64 : 0];
+    this.previous = new long[enabled ? bloomBits / 64 : 0];
+    this.rotatedAt = System.nanoTime();
+  }
+
+  /**
+   * Checks a message against recently posted ones and those still being
+   * saved, and reserves it until {@link #record} or {@link #release}.
+   *
+   * @param message the raw message
+   * @return the message fingerprint to {@link #record} once the note is
+   *         saved or {@link #release} if the save fails, or null if the
+   *         message is not tracked
+   * @throws DuplicateNoteException if the message repeats a recent one
+   */
+  public Fingerprint check(String message) {
+    if (!enabled || message == null) {
+      return null;
+    }
+    String normalized = normalize(message);
+    if (normalized.length() < minLength) {
+      return null;
+    }
+    Fingerprint fingerprint = new Fingerprint(
+      hash(normalized, 0, normalized.length()),
+      simHash(normalized)
+    );
+    long now = System.nanoTime();
+    lock.lock();
+    try {
+      rotateIfDue(now);
+      if (
+        mightContain(fingerprint.contentHash) ||
+        pendingMatch(fingerprint, true)
+      ) {
+        noteMetrics.exactDuplicates().increment();
+        throw new DuplicateNoteException(
+          "Duplicate note: this message was already posted recently"
+        );
+      }
+      if (
+        hasNearCopy(fingerprint.simHash, now) ||
+        pendingMatch(fingerprint, false)
+      ) {
+        noteMetrics.nearDuplicates().increment();
+        throw new DuplicateNoteException(
+          "Duplicate note: a very similar message was posted recently"
+        );
+      }
+      pending.add(fingerprint);
+      return fingerprint;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Remembers a saved note's message for the rest of the window.
+   *
+   * @param fingerprint the fingerprint from {@link #check}, or null
+   */
+  public void record(Fingerprint fingerprint) {
+    if (fingerprint == null) {
+      return;
+    }
+    long now = System.nanoTime();
+    lock.lock();
+    try {
+      pending.remove(fingerprint);
+      rotateIfDue(now);
+      long contentHash = fingerprint.contentHash;
+      int step = (int) (contentHash >>> 32) | 1;
+      for (int i = 0; i < hashCount; i++) {
+        int bit = bloomIndex((int) contentHash, step, i);
+        current[bit >>> 6] |= 1L << bit;
+      }
+      for (int band = 0; band < BANDS; band++) {
+        int slot = bandSlot(fingerprint.simHash, band);
+        bandFingerprints[slot] = fingerprint.simHash;
+        bandSeenAt[slot] = now;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Drops the reservation of a message whose note failed to save, so the
+   * client can retry it.
+   *
+   * @param fingerprint the fingerprint from {@link #check}, or null
+   */
+  public void release(Fingerprint fingerprint) {
+    if (fingerprint == null) {
+      return;
+    }
+    lock.lock();
+    try {
+      pending.remove(fingerprint);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Lowercases letters and digits and collapses every run of other
+   * characters, including markup, into a single space.
+   */
+  static String normalize(String message) {
+    StringBuilder normalized = new StringBuilder(message.length());
+    boolean separated = false;
+    for (int i = 0; i < message.length(); ) {
+      int codePoint = message.codePointAt(i);
+      i += Character.charCount(codePoint);
+      if (!Character.isLetterOrDigit(codePoint)) {
+        separated = true;
+        continue;
+      }
+      if (separated && !normalized.isEmpty()) {
+        normalized.append(' ');
+      }
+      separated = false;
+      normalized.appendCodePoint(Character.toLowerCase(codePoint));
+    }
+    return normalized.toString();
+  }
+
+  /**
+   * Returns the SimHash of a normalized message over its words and word
+   * pairs. Pairs keep word order significant; words alone make the
+   * fingerprint tolerant to a few inserted or replaced words.
+   */
+  static long simHash(String normalized) {
+    int[] votes = new int[64];
+    int previousStart = -1;
+    int start = 0;
+    while (start < normalized.length()) {
+      int end = normalized.indexOf(' ', start);
+      if (end < 0) {
+        end = normalized.length();
+      }
+      vote(votes, hash(normalized, start, end));
+      if (previousStart >= 0) {
+        vote(votes, hash(normalized, previousStart, end));
+      }
+      previousStart = start;
+      start = end + 1;
+    }
+    long fingerprint = 0;
+    for (int bit = 0; bit < 64; bit++) {
+      if (votes[bit] > 0) {
+        fingerprint |= 1L << bit;
+      }
+    }
+    return fingerprint;
+  }
+
+  private static void vote(int[] votes, long feature) {
+    for (int bit = 0; bit < 64; bit++) {
+      votes[bit] += (int) ((feature >>> bit) & 1) * 2 - 1;
+    }
+  }
+
+  // Must be called with the lock held.
+  private void rotateIfDue(long now) {
+    if (now - rotatedAt < halfWindowNanos) {
+      return;
+    }
+    long[] recycled = previous;
+    Arrays.fill(recycled, 0);
+    previous = current;
+    current = recycled;
+    if (now - rotatedAt >= 2 * halfWindowNanos) {
+      // No note for a full window: the old generation is stale too.
+      Arrays.fill(previous, 0);
+    }
+    rotatedAt = now;
+  }
+
+  // Must be called with the lock held.
+  private boolean mightContain(long contentHash) {
+    int step = (int) (contentHash >>> 32) | 1;
+    boolean inCurrent = true;
+    boolean inPrevious = true;
+    for (int i = 0; i < hashCount && (inCurrent || inPrevious); i++) {
+      int bit = bloomIndex((int) contentHash, step, i);
+      long mask = 1L << bit;
+      inCurrent &= (current[bit >>> 6] & mask) != 0;
+      inPrevious &= (previous[bit >>> 6] & mask) != 0;
+    }
+    return inCurrent || inPrevious;
+  }
+
+  // Must be called with the lock held.
+  private boolean hasNearCopy(long simHash, long now) {
+    for (int band = 0; band < BANDS; band++) {
+      int slot = bandSlot(simHash, band);
+      if (
+        bandSeenAt[slot] != 0 &&
+        now - bandSeenAt[slot] < 2 * halfWindowNanos &&
+        Long.bitCount(bandFingerprints[slot] ^ simHash) <= maxDistance
+      ) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // Must be called with the lock held.
+  private boolean pendingMatch(Fingerprint fingerprint, boolean exact) {
+    for (Fingerprint other : pending) {
+      if (
+        exact
+          ? other.contentHash == fingerprint.contentHash
+          : Long.bitCount(other.simHash ^ fingerprint.simHash) <= maxDistance
+      ) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // Double hashing: the i-th probe is start + i * step modulo the size.
+  private int bloomIndex(int start, int step, int i) {
+    return (int) Long.remainderUnsigned(
+      (start & 0xffffffffL) + (long) i * (step & 0xffffffffL),
+      bloomBits
+    );
+  }
+
+  private static int bandSlot(long simHash, int band) {
+    int value = (int) (simHash >>> (band * BAND_BITS)) & 0xffff;
+    return (band << BAND_BITS) | value;
+  }
+
+  // FNV-1a over UTF-16 units, finished with the MurmurHash3 mixer so that
+  // every output bit depends on every input bit.
+  private static long hash(String text, int start, int end) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = start; i < end; i++) {
+      hash ^= text.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+  /**
+   * Hashes of a checked message, kept until the note is saved. Compared by
+   * identity, so equal messages reserve separately.
+   */
+  public static final class Fingerprint {
+
+    private final long contentHash;
+    private final long simHash;
+
+    Fingerprint(long contentHash, long simHash) {
+      this.contentHash = contentHash;
+      this.simHash = simHash;
+    }
+  }
+}
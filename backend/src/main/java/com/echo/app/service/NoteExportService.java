@@ -0,0 +1,113 @@
+// src/main/java/com/echo/app/service/NoteExportService.java
+
+package com.echo.app.service;
+
+import com.echo.app.dto.NoteResponse;
+import com.echo.app.model.NoteView;
+import com.echo.app.repository.NoteArchive;
+import com.echo.app.repository.NoteStore;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+
+/**
+ * Exports notes as newline-delimited JSON.
+ *
+ * <p>Notes are read from a single MongoDB cursor per collection, archive
+ * months first, and serialized straight to the output stream one at a
+ * time, so memory use is bounded by the cursor batch and the output buffers
+ * rather than by the size of the export.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class NoteExportService {
+
+  private static final Logger log = LoggerFactory.getLogger(
+    NoteExportService.class
+  );
+
+  private final NoteStore noteStore;
+  // Absent with the embedded store.
+  private final NoteArchive noteArchive;
+  private final ObjectMapper objectMapper;
+  private final ObjectWriter noteWriter;
+  private final int batchSize;
+
+  public NoteExportService(
+    NoteStore noteStore,
+    Optional<NoteArchive> noteArchive,
+    ObjectMapper objectMapper,
+    @Value("${echo.export.batch-size:1000}") int batchSize
+  ) {
+    this.noteStore = noteStore;
+    this.noteArchive = noteArchive.orElse(null);
+    this.objectMapper = objectMapper;
+    // Flushing after every note would send one chunk per line.
+    this.noteWriter = objectMapper
+      .writerFor(NoteResponse.class)
+      .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Writes every note created in {@code [from, to)} to the output, oldest
+   * first, one JSON object per line.
+   *
+   * @param from the inclusive lower bound, or null for no lower bound
+   * @param to   the exclusive upper bound, or null for no upper bound
+   * @param out  the stream to write to; it is flushed but not closed
+   * @return the number of notes written
+   * @throws IOException if writing to the output fails
+   */
+  public long export(Instant from, Instant to, OutputStream out)
+    throws IOException {
+    long started = System.nanoTime();
+    long count = 0;
+    try (
+      Stream<NoteView> notes = streamRange(from, to);
+      JsonGenerator generator = objectMapper
+        .getFactory()
+        .createGenerator(out)
+        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+        .setRootValueSeparator(null)
+    ) {
+      Iterator<NoteView> iterator = notes.iterator();
+      while (iterator.hasNext()) {
+        noteWriter.writeValue(
+          generator,
+          NoteResponse.fromView(iterator.next())
+        );
+        generator.writeRaw('\n');
+        count++;
+      }
+      generator.flush();
+    }
+    log.info(
+      "Exported {} notes in {} ms",
+      count,
+      (System.nanoTime() - started) / 1_000_000
+    );
+    return count;
+  }
+
+  private Stream<NoteView> streamRange(Instant from, Instant to) {
+    if (noteArchive == null) {
+      return noteStore.streamRange(from, to, batchSize);
+    }
+    return noteArchive.streamRange(from, to, batchSize, () ->
+      noteStore.streamRange(from, to, batchSize)
+    );
+  }
+}
@@ -0,0 +1,106 @@
+// src/main/java/com/echo/app/service/NoteFactory.java
+
+package com.echo.app.service;
+
+import com.echo.app.dto.CreateNoteRequest;
+import com.echo.app.model.Note;
+import com.echo.app.model.NoteMeta;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import org.jsoup.Jsoup;
+import org.jsoup.safety.Safelist;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds sanitized note entities from create requests. Shared by the servlet
+ * and reactive note services.
+ */
+@Component
+public class NoteFactory {
+
+  /**
+   * Creates a new, unsaved note from a request.
+   *
+   * @param request   the create note request
+   * @param ipHash    the hashed client IP
+   * @param userAgent the client user agent
+   * @return the sanitized note entity
+   */
+  public Note newNote(
+    CreateNoteRequest request,
+    String ipHash,
+    String userAgent
+  ) {
+    String sanitizedMessage = sanitize(request.getMessage());
+    String sanitizedAuthor =
+      request.getAuthor() != null ? sanitize(request.getAuthor().trim()) : null;
+
+    if (sanitizedAuthor != null && sanitizedAuthor.isEmpty()) {
+      sanitizedAuthor = null;
+    }
+
+    Note note = new Note();
+    note.setMessage(sanitizedMessage);
+    note.setAuthor(sanitizedAuthor);
+    // Mongo stores millisecond precision; keep cached copies identical.
+    note.setCreatedAt(Instant.now().truncatedTo(ChronoUnit.MILLIS));
+    note.setIpHash(ipHash);
+    note.setMeta(new NoteMeta(userAgent, null));
+    return note;
+  }
+
+  /**
+   * Trims input and strips all markup except simple text formatting. Plain
+   * text that Jsoup would return unchanged skips parsing and is returned
+   * as-is.
+   *
+   * @param input the raw input, may be null
+   * @return the sanitized text, or null if the input was null
+   */
+  static String sanitize(String input) {
+    if (input == null) {
+      return null;
+    }
+    String trimmed = input.trim();
+    if (isPlainText(trimmed)) {
+      return trimmed;
+    }
+    return Jsoup.clean(trimmed, Safelist.simpleText());
+  }
+
+  /**
+   * Returns whether Jsoup's cleaner would output the trimmed text unchanged:
+   * it contains no markup or entity characters, nothing Jsoup escapes
+   * (control characters, non-breaking spaces, unpaired surrogates) and no
+   * whitespace that pretty-printing would collapse.
+   */
+  static boolean isPlainText(String text) {
+    int length = text.length();
+    char previous = 0;
+    for (int i = 0; i < length; i++) {
+      char c = text.charAt(i);
+      if (
+        c < ' ' ||
+        c == '&' ||
+        c == '<' ||
+        c == '>' ||
+        c == '\u00a0' ||
+        (c == ' ' && previous == ' ')
+      ) {
+        return false;
+      }
+      if (Character.isSurrogate(c)) {
+        if (
+          !Character.isHighSurrogate(c) ||
+          i + 1 == length ||
+          !Character.isLowSurrogate(text.charAt(i + 1))
+        ) {
+          return false;
+        }
+        i++;
+      }
+      previous = c;
+    }
+    return true;
+  }
+}
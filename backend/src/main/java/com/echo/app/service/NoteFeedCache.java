@@ -0,0 +1,354 @@
+// src/main/java/com/echo/app/service/NoteFeedCache.java
+
+package com.echo.app.service;
+
+import com.echo.app.dto.NoteResponse;
+import com.echo.app.repository.NoteArchive;
+import com.echo.app.repository.NoteStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+/**
+ * In-process cache of the newest notes, serving the top pages of the
+ * createdAt-descending feed from memory.
+ *
+ * <p>The cache is bounded both by note count and by an estimate of retained
+ * bytes. Reads are lock-free against an immutable snapshot; writes prepend
+ * newly created notes under a lock. The snapshot is reloaded after a TTL so
+ * notes written by other replicas still show up. A single reader reloads it
+ * while the others keep serving the stale snapshot, and notes created during
+ * the reload are carried over into the new one.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class NoteFeedCache {
+
+  private static final String CACHE_NAME = "notes-feed";
+
+  private final NoteStore noteStore;
+  // Absent with the embedded store.
+  private final NoteArchive noteArchive;
+  private final int maxNotes;
+  private final long maxBytes;
+  private final long ttlNanos;
+  // Guards snapshot updates; never held across a database query.
+  private final ReentrantLock lock = new ReentrantLock();
+  // Held by the one reader reloading the snapshot.
+  private final ReentrantLock loadLock = new ReentrantLock();
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter evictions;
+
+  private volatile Snapshot snapshot;
+  // Notes created while a reload is running, oldest first; null otherwise.
+  private List<NoteResponse> createdDuringLoad;
+  // Bumped by invalidate() so that a reload started before it is dropped.
+  private long generation;
+
+  public NoteFeedCache(
+    NoteStore noteStore,
+    Optional<NoteArchive> noteArchive,
+    MeterRegistry meterRegistry,
+    @Value("${echo.feed-cache.max-notes:500}") int maxNotes,
+    @Value("${echo.feed-cache.max-bytes:1048576}") long maxBytes,
+    @Value("${echo.feed-cache.ttl-ms:10000}") long ttlMillis
+  ) {
+    this.noteStore = noteStore;
+    this.noteArchive = noteArchive.orElse(null);
+    this.maxNotes = maxNotes;
+    this.maxBytes = maxBytes;
+    this.ttlNanos = ttlMillis * 1_000_000L;
+    this.hits = Counter.builder("cache.gets")
+      .tag("cache", CACHE_NAME)
+      .tag("result", "hit")
+      .register(meterRegistry);
+    this.misses = Counter.builder("cache.gets")
+      .tag("cache", CACHE_NAME)
+      .tag("result", "miss")
+      .register(meterRegistry);
+    this.evictions = Counter.builder("cache.evictions")
+      .tag("cache", CACHE_NAME)
+      .register(meterRegistry);
+    Gauge.builder("cache.size", this, cache -> cache.currentSnapshot().size())
+      .tag("cache", CACHE_NAME)
+      .register(meterRegistry);
+    Gauge.builder("cache.bytes", this, cache -> cache.currentSnapshot().bytes)
+      .tag("cache", CACHE_NAME)
+      .register(meterRegistry);
+  }
+
+  /**
+   * Returns a page of the createdAt-descending feed if it can be served
+   * entirely from memory.
+   *
+   * @param page the page number (0-indexed)
+   * @param size the page size
+   * @return the page, or empty if it lies beyond the cached window
+   */
+  public Optional<Slice<NoteResponse>> getPage(int page, int size) {
+    Snapshot current = freshSnapshot();
+    long from = (long) page * size;
+    long to = from + size;
+    if (to > current.size() && !current.complete) {
+      misses.increment();
+      return Optional.empty();
+    }
+    hits.increment();
+    List<NoteResponse> content = from >= current.size()
+      ? List.of()
+      : current.notes.subList((int) from, (int) Math.min(to, current.size()));
+    boolean hasNext = to < current.size() || !current.complete;
+    Pageable pageable = PageRequest.of(page, size, feedSort());
+    return Optional.of(new SliceImpl<>(content, pageable, hasNext));
+  }
+
+  /**
+   * Prepends a newly created note to the cached feed, unless a reload has
+   * already picked it up.
+   *
+   * @param note the created note
+   */
+  public void onCreated(NoteResponse note) {
+    lock.lock();
+    try {
+      if (createdDuringLoad != null) {
+        createdDuringLoad.add(note);
+      }
+      Snapshot current = snapshot;
+      if (current == null || current.contains(note.getId())) {
+        return;
+      }
+      List<NoteResponse> notes = new ArrayList<>(current.size() + 1);
+      notes.add(note);
+      notes.addAll(current.notes);
+      snapshot = bounded(notes, current.complete, current.loadedAtNanos);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Removes a note from the cached feed.
+   *
+   * @param id the note ID
+   */
+  public void remove(String id) {
+    lock.lock();
+    try {
+      if (createdDuringLoad != null) {
+        createdDuringLoad.removeIf(note -> id.equals(note.getId()));
+      }
+      Snapshot current = snapshot;
+      if (current == null || !current.contains(id)) {
+        return;
+      }
+      List<NoteResponse> notes = current.notes
+        .stream()
+        .filter(note -> !id.equals(note.getId()))
+        .toList();
+      snapshot = bounded(notes, current.complete, current.loadedAtNanos);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Drops the cached feed so that the next read reloads it.
+   */
+  public void invalidate() {
+    lock.lock();
+    try {
+      snapshot = null;
+      generation++;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the sort order of the cached feed.
+   *
+   * @return createdAt descending with id as tie-breaker
+   */
+  public static Sort feedSort() {
+    return Sort.by(Sort.Direction.DESC, "createdAt", "id");
+  }
+
+  private Snapshot freshSnapshot() {
+    Snapshot current = snapshot;
+    if (current != null && !isStale(current)) {
+      return current;
+    }
+    if (current == null) {
+      // Nothing to serve yet, so wait for whoever is loading.
+      loadLock.lock();
+    } else if (!loadLock.tryLock()) {
+      return current;
+    }
+    try {
+      current = snapshot;
+      return current == null || isStale(current) ? reload() : current;
+    } finally {
+      loadLock.unlock();
+    }
+  }
+
+  private boolean isStale(Snapshot current) {
+    return System.nanoTime() - current.loadedAtNanos >= ttlNanos;
+  }
+
+  // Must be called with loadLock held.
+  private Snapshot reload() {
+    long startedGeneration;
+    lock.lock();
+    try {
+      createdDuringLoad = new ArrayList<>();
+      startedGeneration = generation;
+    } finally {
+      lock.unlock();
+    }
+    Snapshot loaded = null;
+    try {
+      loaded = load();
+    } finally {
+      lock.lock();
+      try {
+        List<NoteResponse> created = createdDuringLoad;
+        createdDuringLoad = null;
+        if (loaded != null) {
+          loaded = withCreated(loaded, created);
+          if (generation == startedGeneration) {
+            snapshot = loaded;
+          }
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+    return loaded;
+  }
+
+  // Must be called with the lock held.
+  private Snapshot withCreated(Snapshot loaded, List<NoteResponse> created) {
+    List<NoteResponse> missing = new ArrayList<>();
+    for (NoteResponse note : created) {
+      if (!loaded.contains(note.getId())) {
+        missing.add(0, note);
+      }
+    }
+    if (missing.isEmpty()) {
+      return loaded;
+    }
+    missing.addAll(loaded.notes);
+    return bounded(missing, loaded.complete, loaded.loadedAtNanos);
+  }
+
+  private Snapshot load() {
+    long loadedAt = System.nanoTime();
+    Slice<NoteResponse> slice = noteStore
+      .findViewsBy(PageRequest.of(0, maxNotes, feedSort()))
+      .map(NoteResponse::fromView);
+    // Archived notes follow the hot ones, so the snapshot is only complete
+    // when nothing has been archived yet.
+    boolean archived = noteArchive != null && noteArchive.count() > 0;
+    return bounded(
+      new ArrayList<>(slice.getContent()),
+      !slice.hasNext() && !archived,
+      loadedAt
+    );
+  }
+
+  private Snapshot bounded(
+    List<NoteResponse> notes,
+    boolean complete,
+    long loadedAtNanos
+  ) {
+    long bytes = 0;
+    int keep = 0;
+    while (keep < notes.size() && keep < maxNotes) {
+      long noteBytes = estimateBytes(notes.get(keep));
+      if (bytes + noteBytes > maxBytes) {
+        break;
+      }
+      bytes += noteBytes;
+      keep++;
+    }
+    int evicted = notes.size() - keep;
+    if (evicted > 0) {
+      evictions.increment(evicted);
+      complete = false;
+    }
+    return new Snapshot(
+      List.copyOf(notes.subList(0, keep)),
+      complete,
+      bytes,
+      loadedAtNanos
+    );
+  }
+
+  private Snapshot currentSnapshot() {
+    Snapshot current = snapshot;
+    return current != null ? current : Snapshot.EMPTY;
+  }
+
+  private static long estimateBytes(NoteResponse note) {
+    // Object headers and references plus UTF-16 string payloads.
+    long bytes = 96;
+    bytes += stringBytes(note.getId());
+    bytes += stringBytes(note.getMessage());
+    bytes += stringBytes(note.getAuthor());
+    return bytes;
+  }
+
+  private static long stringBytes(String value) {
+    return value == null ? 0 : 40 + 2L * value.length();
+  }
+
+  private static final class Snapshot {
+
+    static final Snapshot EMPTY = new Snapshot(List.of(), false, 0, 0);
+
+    final List<NoteResponse> notes;
+    final boolean complete;
+    final long bytes;
+    final long loadedAtNanos;
+
+    Snapshot(
+      List<NoteResponse> notes,
+      boolean complete,
+      long bytes,
+      long loadedAtNanos
+    ) {
+      this.notes = notes;
+      this.complete = complete;
+      this.bytes = bytes;
+      this.loadedAtNanos = loadedAtNanos;
+    }
+
+    int size() {
+      return notes.size();
+    }
+
+    boolean contains(String id) {
+      for (NoteResponse note : notes) {
+        if (id.equals(note.getId())) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+}
@@ -0,0 +1,399 @@
+// src/main/java/com/echo/app/service/NoteImportService.java
+
+package com.echo.app.service;
+
+import com.echo.app.dto.CreateNoteRequest;
+import com.echo.app.dto.NoteResponse;
+import com.echo.app.exception.ImportNotAllowedException;
+import com.echo.app.model.Note;
+import com.echo.app.repository.NoteStore;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+
+/**
+ * Imports notes in bulk from a JSON array or newline-delimited JSON.
+ *
+ * <p>Items are read in chunks. Each chunk is validated and sanitized in
+ * parallel, written with one unordered {@code insertMany}, and reported
+ * before the next chunk is read, so memory stays bounded by the chunk size.
+ * Results are written as NDJSON, one line per input item, in input order.
+ *
+ * <p>Imports bypass the per-IP rate limit, so they are disabled unless an
+ * import token is configured and presented as a bearer token.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class NoteImportService {
+
+  private static final Logger log = LoggerFactory.getLogger(
+    NoteImportService.class
+  );
+
+  private static final String BEARER_PREFIX = "Bearer ";
+
+  private final NoteStore noteStore;
+  private final NoteFactory noteFactory;
+  private final IpHasher ipHasher;
+  private final NoteCountService noteCountService;
+  private final NoteFeedCache noteFeedCache;
+  private final NoteSearchIndex noteSearchIndex;
+  private final Validator validator;
+  private final ObjectMapper objectMapper;
+  private final ObjectReader requestReader;
+  private final byte[] token;
+  private final int chunkSize;
+  private final Counter created;
+  private final Counter rejected;
+
+  public NoteImportService(
+    NoteStore noteStore,
+    NoteFactory noteFactory,
+    IpHasher ipHasher,
+    NoteCountService noteCountService,
+    NoteFeedCache noteFeedCache,
+    NoteSearchIndex noteSearchIndex,
+    Validator validator,
+    ObjectMapper objectMapper,
+    MeterRegistry meterRegistry,
+    @Value("${echo.import.token:}") String token,
+    @Value("${echo.import.chunk-size:1000}") int chunkSize
+  ) {
+    this.noteStore = noteStore;
+    this.noteFactory = noteFactory;
+    this.ipHasher = ipHasher;
+    this.noteCountService = noteCountService;
+    this.noteFeedCache = noteFeedCache;
+    this.noteSearchIndex = noteSearchIndex;
+    this.validator = validator;
+    this.objectMapper = objectMapper;
+    this.requestReader = objectMapper.readerFor(CreateNoteRequest.class);
+    this.token = token.isBlank()
+      ? null
+      : token.getBytes(StandardCharsets.UTF_8);
+    this.chunkSize = chunkSize;
+    this.created = Counter.builder("echo.notes.import")
+      .tag("result", "created")
+      .description("Notes processed by bulk imports")
+      .register(meterRegistry);
+    this.rejected = Counter.builder("echo.notes.import")
+      .tag("result", "rejected")
+      .description("Notes processed by bulk imports")
+      .register(meterRegistry);
+  }
+
+  /**
+   * Checks that imports are enabled and the request carries the import
+   * token.
+   *
+   * @param authorization the {@code Authorization} header, may be null
+   * @throws ImportNotAllowedException if imports are disabled or the token
+   *                                   is missing or wrong
+   */
+  public void authorize(String authorization) {
+    if (token == null) {
+      throw new ImportNotAllowedException("Note import is disabled");
+    }
+    if (
+      authorization == null ||
+      !authorization.startsWith(BEARER_PREFIX) ||
+      !MessageDigest.isEqual(
+        token,
+        authorization
+          .substring(BEARER_PREFIX.length())
+          .getBytes(StandardCharsets.UTF_8)
+      )
+    ) {
+      throw new ImportNotAllowedException("Invalid import token");
+    }
+  }
+
+  /**
+   * Imports the notes in the input and writes one result line per item:
+   * {@code created} with the note ID, or {@code rejected} with the reason.
+   * An item that is well-formed JSON but not a valid request only rejects
+   * that item. A JSON array that turns out to be malformed ends the import
+   * with a rejected line for the offending item; a malformed NDJSON line
+   * only rejects that line.
+   *
+   * @param in        a JSON array or NDJSON stream of create requests
+   * @param clientIp  the importing client's IP address
+   * @param userAgent the importing client's user agent
+   * @param out       the stream to write results to; flushed after each
+   *                  chunk but not closed
+   * @return the number of notes created
+   * @throws IOException if reading the input or writing results fails
+   */
+  public long importNotes(
+    InputStream in,
+    String clientIp,
+    String userAgent,
+    OutputStream out
+  ) throws IOException {
+    long started = System.nanoTime();
+    String ipHash = ipHasher.hash(clientIp);
+    BufferedInputStream input = new BufferedInputStream(in);
+    ImportCounts counts = new ImportCounts();
+    try (
+      JsonGenerator generator = objectMapper
+        .getFactory()
+        .createGenerator(out)
+        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+        .setRootValueSeparator(null)
+    ) {
+      if (startsWithArray(input)) {
+        importArray(input, ipHash, userAgent, generator, counts);
+      } else {
+        importLines(input, ipHash, userAgent, generator, counts);
+      }
+    }
+    log.info(
+      "Imported {} notes, rejected {}, in {} ms",
+      counts.created,
+      counts.rejected,
+      (System.nanoTime() - started) / 1_000_000
+    );
+    return counts.created;
+  }
+
+  private void importArray(
+    InputStream input,
+    String ipHash,
+    String userAgent,
+    JsonGenerator generator,
+    ImportCounts counts
+  ) throws IOException {
+    List<Item> chunk = new ArrayList<>(chunkSize);
+    int index = 0;
+    try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+      parser.nextToken();
+      JsonStreamContext array = parser.getParsingContext();
+      boolean malformed = false;
+      while (!malformed) {
+        Item item = new Item(index);
+        try {
+          JsonToken next = parser.nextToken();
+          if (next == JsonToken.END_ARRAY) {
+            break;
+          }
+          if (next == null) {
+            malformed = true;
+          } else {
+            item.request = readItem(parser, array);
+          }
+        } catch (JsonProcessingException e) {
+          // The parser cannot resynchronize inside an array.
+          malformed = true;
+        }
+        if (item.request == null) {
+          item.error = "Invalid JSON format";
+        }
+        chunk.add(item);
+        index++;
+        if (chunk.size() == chunkSize) {
+          processChunk(chunk, ipHash, userAgent, generator, counts);
+          chunk.clear();
+        }
+      }
+    }
+    processChunk(chunk, ipHash, userAgent, generator, counts);
+  }
+
+  // Reads the array item at the current token. An item that is well-formed
+  // but does not map to a request is skipped to its end, so reading goes on
+  // with the next item, and null is returned.
+  private CreateNoteRequest readItem(
+    JsonParser parser,
+    JsonStreamContext array
+  ) throws IOException {
+    try {
+      return requestReader.readValue(parser);
+    } catch (DatabindException e) {
+      while (parser.getParsingContext() != array) {
+        JsonToken token = parser.currentToken();
+        if (token != null && token.isStructStart()) {
+          parser.skipChildren();
+        } else if (parser.nextToken() == null) {
+          throw e;
+        }
+      }
+      return null;
+    }
+  }
+
+  private void importLines(
+    InputStream input,
+    String ipHash,
+    String userAgent,
+    JsonGenerator generator,
+    ImportCounts counts
+  ) throws IOException {
+    BufferedReader reader = new BufferedReader(
+      new InputStreamReader(input, StandardCharsets.UTF_8)
+    );
+    List<Item> chunk = new ArrayList<>(chunkSize);
+    int index = 0;
+    String line;
+    while ((line = reader.readLine()) != null) {
+      if (line.isBlank()) {
+        continue;
+      }
+      Item item = new Item(index++);
+      try {
+        item.request = requestReader.readValue(line);
+      } catch (JsonProcessingException e) {
+        item.error = "Invalid JSON format";
+      }
+      chunk.add(item);
+      if (chunk.size() == chunkSize) {
+        processChunk(chunk, ipHash, userAgent, generator, counts);
+        chunk.clear();
+      }
+    }
+    processChunk(chunk, ipHash, userAgent, generator, counts);
+  }
+
+  private void processChunk(
+    List<Item> chunk,
+    String ipHash,
+    String userAgent,
+    JsonGenerator generator,
+    ImportCounts counts
+  ) throws IOException {
+    if (chunk.isEmpty()) {
+      return;
+    }
+    chunk
+      .parallelStream()
+      .filter(item -> item.error == null)
+      .forEach(item -> prepare(item, ipHash, userAgent));
+
+    List<Item> accepted = chunk
+      .stream()
+      .filter(item -> item.note != null)
+      .toList();
+    Map<Integer, String> failures = noteStore.insertUnordered(
+      accepted.stream().map(item -> item.note).toList()
+    );
+    failures.forEach((position, message) -> {
+      Item item = accepted.get(position);
+      item.note = null;
+      item.error = "Failed to save note";
+      log.warn("Failed to import note {}: {}", item.index, message);
+    });
+
+    int createdInChunk = accepted.size() - failures.size();
+    if (createdInChunk > 0) {
+      noteCountService.increment(createdInChunk);
+      noteFeedCache.invalidate();
+    }
+    for (Item item : chunk) {
+      generator.writeStartObject();
+      generator.writeNumberField("index", item.index);
+      if (item.note != null) {
+        noteSearchIndex.add(NoteResponse.fromEntity(item.note));
+        generator.writeStringField("status", "created");
+        generator.writeStringField("id", item.note.getId());
+      } else {
+        generator.writeStringField("status", "rejected");
+        generator.writeStringField("error", item.error);
+      }
+      generator.writeEndObject();
+      generator.writeRaw('\n');
+    }
+    generator.flush();
+    counts.created += createdInChunk;
+    counts.rejected += chunk.size() - createdInChunk;
+    created.increment(createdInChunk);
+    rejected.increment(chunk.size() - createdInChunk);
+  }
+
+  // Runs on the common pool; touches only its own item.
+  private void prepare(Item item, String ipHash, String userAgent) {
+    if (item.request == null) {
+      item.error = "Invalid JSON format";
+      return;
+    }
+    List<ConstraintViolation<CreateNoteRequest>> violations = validator
+      .validate(item.request)
+      .stream()
+      .sorted(
+        Comparator.comparing(violation -> violation.getPropertyPath().toString())
+      )
+      .toList();
+    if (!violations.isEmpty()) {
+      item.error = "Validation failed: " +
+      violations
+        .stream()
+        .map(violation ->
+          violation.getPropertyPath() + " " + violation.getMessage()
+        )
+        .collect(Collectors.joining(", "));
+      return;
+    }
+    Note note = noteFactory.newNote(item.request, ipHash, userAgent);
+    note.setId(new ObjectId().toHexString());
+    item.note = note;
+  }
+
+  private static boolean startsWithArray(BufferedInputStream input)
+    throws IOException {
+    while (true) {
+      input.mark(1);
+      int b = input.read();
+      if (b == -1) {
+        return false;
+      }
+      if (!Character.isWhitespace(b) && b != 0xEF && b != 0xBB && b != 0xBF) {
+        input.reset();
+        return b == '[';
+      }
+    }
+  }
+
+  private static final class Item {
+
+    final int index;
+    CreateNoteRequest request;
+    Note note;
+    String error;
+
+    Item(int index) {
+      this.index = index;
+    }
+  }
+
+  private static final class ImportCounts {
+
+    long created;
+    long rejected;
+  }
+}
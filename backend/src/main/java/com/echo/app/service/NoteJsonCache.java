@@ -0,0 +1,217 @@
+// src/main/java/com/echo/app/service/NoteJsonCache.java
+
+package com.echo.app.service;
+
+import com.echo.app.dto.JsonPayload;
+import com.echo.app.dto.NoteResponse;
+import com.echo.app.dto.PagedResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+
+/**
+ * Caches the serialized JSON of immutable notes and of note pages.
+ *
+ * <p>Notes never change after creation, so each note is serialized once and
+ * its bytes are reused by every single-note and list response. A page is
+ * identified by its metadata plus the ETags of its items, which lets the page
+ * ETag be derived without serializing anything; page bodies are assembled
+ * from the cached note bytes and cached by ETag.
+ *
+ * <p>Payloads of at least {@code echo.compression.min-bytes} are also
+ * gzip-compressed once, at the highest useful level, when they are cached,
+ * so polling clients that accept gzip never cost a recompression.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class NoteJsonCache {
+
+  private static final Base64.Encoder ETAG_ENCODER = Base64.getUrlEncoder()
+    .withoutPadding();
+
+  private final ObjectMapper objectMapper;
+  private final NoteMetrics noteMetrics;
+  private final boolean precompress;
+  private final int compressMinBytes;
+  private final int compressLevel;
+  private final Cache<String, JsonPayload> notes;
+  private final Cache<String, JsonPayload> pages;
+
+  public NoteJsonCache(
+    ObjectMapper objectMapper,
+    MeterRegistry meterRegistry,
+    NoteMetrics noteMetrics,
+    @Value("${echo.json-cache.note-max-bytes:16777216}") long noteMaxBytes,
+    @Value("${echo.json-cache.page-max-bytes:8388608}") long pageMaxBytes,
+    @Value("${echo.compression.precompress:true}") boolean precompress,
+    @Value("${echo.compression.min-bytes:1024}") int compressMinBytes,
+    @Value("${echo.compression.level:9}") int compressLevel
+  ) {
+    this.objectMapper = objectMapper;
+    this.noteMetrics = noteMetrics;
+    this.precompress = precompress;
+    this.compressMinBytes = compressMinBytes;
+    this.compressLevel = compressLevel;
+    this.notes = Caffeine.newBuilder()
+      .maximumWeight(noteMaxBytes)
+      .weigher((String id, JsonPayload payload) -> payload.weight())
+      .recordStats()
+      .build();
+    this.pages = Caffeine.newBuilder()
+      .maximumWeight(pageMaxBytes)
+      .weigher((String etag, JsonPayload payload) -> payload.weight())
+      .recordStats()
+      .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, notes, "notes-json");
+    CaffeineCacheMetrics.monitor(meterRegistry, pages, "pages-json");
+  }
+
+  /**
+   * Returns the cached JSON of a note, if present.
+   *
+   * @param id the note ID
+   * @return the cached payload
+   */
+  public Optional<JsonPayload> findNote(String id) {
+    return Optional.ofNullable(notes.getIfPresent(id));
+  }
+
+  /**
+   * Drops the cached JSON of a note.
+   *
+   * @param id the note ID
+   */
+  public void evictNote(String id) {
+    notes.invalidate(id);
+  }
+
+  /**
+   * Returns the JSON of a note, serializing it on first use.
+   *
+   * @param note the note
+   * @return the serialized payload
+   */
+  public JsonPayload note(NoteResponse note) {
+    return notes.get(note.getId(), id -> {
+      byte[] body = write(note);
+      return payload(body, etag(digest().digest(body)));
+    });
+  }
+
+  /**
+   * Returns the JSON of a page of notes, assembled from cached note bytes.
+   *
+   * @param page the page
+   * @return the serialized payload
+   */
+  public JsonPayload page(PagedResponse<NoteResponse> page) {
+    List<JsonPayload> items = page.getItems().stream().map(this::note).toList();
+
+    MessageDigest digest = digest();
+    String meta =
+      page.getPage() +
+      "|" +
+      page.getSize() +
+      "|" +
+      page.getTotalPages() +
+      "|" +
+      page.getTotalItems();
+    digest.update(meta.getBytes(StandardCharsets.UTF_8));
+    for (JsonPayload item : items) {
+      digest.update(item.getEtag().getBytes(StandardCharsets.UTF_8));
+    }
+    String etag = etag(digest.digest());
+
+    return pages.get(etag, key -> {
+      List<RawValue> rawItems = items
+        .stream()
+        .map(item ->
+          new RawValue(new String(item.getBody(), StandardCharsets.UTF_8))
+        )
+        .toList();
+      PagedResponse<RawValue> raw = new PagedResponse<>(
+        page.getPage(),
+        page.getSize(),
+        page.getTotalPages(),
+        page.getTotalItems(),
+        rawItems
+      );
+      return payload(write(raw), key);
+    });
+  }
+
+  private JsonPayload payload(byte[] body, String etag) {
+    if (!precompress || body.length < compressMinBytes) {
+      return new JsonPayload(body, etag);
+    }
+    byte[] gzipBody = noteMetrics
+      .compress()
+      .record(() -> gzip(body, compressLevel));
+    // Incompressible bodies are cheaper to send as they are.
+    return gzipBody.length < body.length
+      ? new JsonPayload(body, etag, gzipBody)
+      : new JsonPayload(body, etag);
+  }
+
+  /**
+   * Compresses a body with gzip at the given deflate level.
+   *
+   * @param body  the bytes to compress
+   * @param level the deflate level, 1 (fastest) to 9 (smallest)
+   * @return the gzip-compressed bytes
+   */
+  static byte[] gzip(byte[] body, int level) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+    try (
+      GZIPOutputStream gzip = new GZIPOutputStream(out) {
+        {
+          def.setLevel(level);
+        }
+      }
+    ) {
+      gzip.write(body);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to compress response", e);
+    }
+    return out.toByteArray();
+  }
+
+  private byte[] write(Object value) {
+    try {
+      return objectMapper.writeValueAsBytes(value);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to serialize response", e);
+    }
+  }
+
+  private static String etag(byte[] hash) {
+    // 128 bits of SHA-256 is plenty to make the tag strong.
+    return "\"" + ETAG_ENCODER.encodeToString(Arrays.copyOf(hash, 16)) + "\"";
+  }
+
+  private static MessageDigest digest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException("SHA-256 not available", e);
+    }
+  }
+}
@@ -0,0 +1,218 @@
+// src/main/java/com/echo/app/service/NoteMetrics.java
+
+package com.echo.app.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import org.springframework.stereotype.Component;
+
+/**
+ * Meters for the note hot paths, registered up front so that every series
+ * exists from startup.
+ *
+ * <p>Each stage of note creation is recorded by {@code echo.notes.create}
+ * and each stage of a listing by {@code echo.notes.list}, tagged with
+ * {@code stage}. Both publish a percentile histogram plus fixed SLO buckets,
+ * so per-stage p99 comes from {@code histogram_quantile} and aggregates
+ * across replicas. The Prometheus registry cannot expose client-side
+ * quantiles next to buckets, so none are computed. These names and tags are
+ * part of the alerting contract.
+ *
+ * <p>JSON page and note bodies are counted by {@code echo.notes.response.bytes}
+ * per {@code encoding}, with the bytes gzip saved over identity in
+ * {@code echo.notes.response.saved.bytes}; the one-off cost of compressing a
+ * cached body is timed by {@code echo.notes.compression}.
+ */
+@Component
+public class NoteMetrics {
+
+  public static final String CREATE_TIMER = "echo.notes.create";
+  public static final String LIST_TIMER = "echo.notes.list";
+  public static final String RATE_LIMITED_COUNTER = "echo.notes.rate-limited";
+  public static final String VALIDATION_FAILURES_COUNTER =
+    "echo.notes.validation.failures";
+  public static final String DUPLICATES_COUNTER = "echo.notes.duplicates";
+  public static final String COMPRESSION_TIMER = "echo.notes.compression";
+  public static final String RESPONSE_BYTES_COUNTER =
+    "echo.notes.response.bytes";
+  public static final String RESPONSE_BYTES_SAVED_COUNTER =
+    "echo.notes.response.saved.bytes";
+
+  private static final Duration[] SLO_BUCKETS = {
+    Duration.ofMillis(1),
+    Duration.ofMillis(5),
+    Duration.ofMillis(10),
+    Duration.ofMillis(25),
+    Duration.ofMillis(50),
+    Duration.ofMillis(100),
+    Duration.ofMillis(250),
+    Duration.ofMillis(500),
+    Duration.ofSeconds(1),
+  };
+
+  private final Timer rateLimit;
+  private final Timer dedup;
+  private final Timer hash;
+  private final Timer sanitize;
+  private final Timer save;
+  private final Timer fetch;
+  private final Timer count;
+  private final Timer map;
+  private final Counter rateLimited;
+  private final Counter validationFailures;
+  private final Counter exactDuplicates;
+  private final Counter nearDuplicates;
+  private final Timer compress;
+  private final Counter identityBytes;
+  private final Counter gzipBytes;
+  private final Counter bytesSaved;
+
+  public NoteMetrics(MeterRegistry meterRegistry) {
+    String create = "Latency of a note creation stage";
+    this.rateLimit = stage(meterRegistry, CREATE_TIMER, "rate-limit", create);
+    this.dedup = stage(meterRegistry, CREATE_TIMER, "dedup", create);
+    this.hash = stage(meterRegistry, CREATE_TIMER, "hash", create);
+    this.sanitize = stage(meterRegistry, CREATE_TIMER, "sanitize", create);
+    this.save = stage(meterRegistry, CREATE_TIMER, "save", create);
+    String list = "Latency of a note listing stage";
+    this.fetch = stage(meterRegistry, LIST_TIMER, "fetch", list);
+    this.count = stage(meterRegistry, LIST_TIMER, "count", list);
+    this.map = stage(meterRegistry, LIST_TIMER, "map", list);
+    this.rateLimited = Counter.builder(RATE_LIMITED_COUNTER)
+      .description("Note creations rejected with 429")
+      .register(meterRegistry);
+    this.validationFailures = Counter.builder(VALIDATION_FAILURES_COUNTER)
+      .description("Note creations rejected by request validation")
+      .register(meterRegistry);
+    this.exactDuplicates = duplicates(meterRegistry, "exact");
+    this.nearDuplicates = duplicates(meterRegistry, "near");
+    this.compress = Timer.builder(COMPRESSION_TIMER)
+      .description("Latency of compressing a cached response body once")
+      .publishPercentileHistogram()
+      .minimumExpectedValue(Duration.ofNanos(10_000))
+      .maximumExpectedValue(Duration.ofSeconds(1))
+      .register(meterRegistry);
+    this.identityBytes = responseBytes(meterRegistry, "identity");
+    this.gzipBytes = responseBytes(meterRegistry, "gzip");
+    this.bytesSaved = Counter.builder(RESPONSE_BYTES_SAVED_COUNTER)
+      .baseUnit("bytes")
+      .description("Response body bytes saved by sending gzip")
+      .register(meterRegistry);
+  }
+
+  /** Times the rate-limit check for a note creation. */
+  public Timer rateLimit() {
+    return rateLimit;
+  }
+
+  /** Times the duplicate check for a note creation. */
+  public Timer dedup() {
+    return dedup;
+  }
+
+  /** Times hashing the client IP for a note creation. */
+  public Timer hash() {
+    return hash;
+  }
+
+  /** Times sanitizing and building the note entity. */
+  public Timer sanitize() {
+    return sanitize;
+  }
+
+  /** Times persisting the note, including any write-behind wait. */
+  public Timer save() {
+    return save;
+  }
+
+  /** Times fetching a page of notes from the feed cache or MongoDB. */
+  public Timer fetch() {
+    return fetch;
+  }
+
+  /** Times resolving the total note count for a page. */
+  public Timer count() {
+    return count;
+  }
+
+  /** Times mapping stored notes to responses. */
+  public Timer map() {
+    return map;
+  }
+
+  /** Counts note creations rejected by the rate limiter. */
+  public Counter rateLimited() {
+    return rateLimited;
+  }
+
+  /** Counts note creations rejected by request validation. */
+  public Counter validationFailures() {
+    return validationFailures;
+  }
+
+  /** Counts note creations rejected as repeats of a recent message. */
+  public Counter exactDuplicates() {
+    return exactDuplicates;
+  }
+
+  /** Counts note creations rejected as near-copies of a recent message. */
+  public Counter nearDuplicates() {
+    return nearDuplicates;
+  }
+
+  /** Times gzip-compressing a cached response body. */
+  public Timer compress() {
+    return compress;
+  }
+
+  /** Counts uncompressed JSON response body bytes. */
+  public Counter identityBytes() {
+    return identityBytes;
+  }
+
+  /** Counts gzip-compressed JSON response body bytes. */
+  public Counter gzipBytes() {
+    return gzipBytes;
+  }
+
+  /** Counts the bytes gzip responses saved over their identity bodies. */
+  public Counter bytesSaved() {
+    return bytesSaved;
+  }
+
+  private static Counter responseBytes(
+    MeterRegistry meterRegistry,
+    String encoding
+  ) {
+    return Counter.builder(RESPONSE_BYTES_COUNTER)
+      .tag("encoding", encoding)
+      .baseUnit("bytes")
+      .description("JSON response body bytes sent")
+      .register(meterRegistry);
+  }
+
+  private static Counter duplicates(MeterRegistry meterRegistry, String kind) {
+    return Counter.builder(DUPLICATES_COUNTER)
+      .tag("kind", kind)
+      .description("Note creations rejected as duplicates of a recent note")
+      .register(meterRegistry);
+  }
+
+  private static Timer stage(
+    MeterRegistry meterRegistry,
+    String name,
+    String stage,
+    String description
+  ) {
+    return Timer.builder(name)
+      .tag("stage", stage)
+      .description(description)
+      .publishPercentileHistogram()
+      .serviceLevelObjectives(SLO_BUCKETS)
+      .minimumExpectedValue(Duration.ofNanos(100_000))
+      .maximumExpectedValue(Duration.ofSeconds(10))
+      .register(meterRegistry);
+  }
+}
@@ -0,0 +1,477 @@
+// src/main/java/com/echo/app/service/NoteSearchIndex.java
+
+package com.echo.app.service;
+
+import com.echo.app.dto.NoteResponse;
+import com.echo.app.model.NoteView;
+import com.echo.app.repository.NoteArchive;
+import com.echo.app.repository.NoteStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import org.bson.types.ObjectId;
+import org.jsoup.parser.Parser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+/**
+ * In-memory inverted index over note messages and authors.
+ *
+ * <p>Each note gets a dense document number in insertion order; its
+ * ObjectId is kept as three ints. Every term maps to a posting list of
+ * document numbers in a growable {@code int[]} with a parallel
+ * term-frequency {@code byte[]}. Results are ranked with BM25 over the
+ * message plus a boost for author matches, newest first on ties. A query
+ * walks at most the newest {@code echo.search.max-postings-per-term}
+ * postings of each term, so common terms cannot make a search scan the
+ * whole index under the read lock.
+ *
+ * <p>The index is built in the background at startup by streaming the
+ * archive and then the hot collection, so archived notes stay searchable
+ * across restarts, and is then updated by {@code createNote}. It only sees
+ * notes created on this replica after startup.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class NoteSearchIndex implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(
+    NoteSearchIndex.class
+  );
+
+  private static final float K1 = 1.2f;
+  private static final float B = 0.75f;
+  private static final float AUTHOR_BOOST = 2.0f;
+  private static final int MIN_TERM_LENGTH = 2;
+  private static final int MAX_TERM_LENGTH = 64;
+  private static final int MAX_QUERY_TERMS = 8;
+
+  private final NoteStore noteStore;
+  // Absent with the embedded store.
+  private final NoteArchive noteArchive;
+  private final boolean enabled;
+  private final int buildBatchSize;
+  private final int maxPostingsPerTerm;
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<String, Postings> messageTerms = new HashMap<>();
+  private final Map<String, Postings> authorTerms = new HashMap<>();
+
+  private int[] idWords = new int[3 * 1024];
+  private int[] lengths = new int[1024];
+  private int docCount;
+  private long totalLength;
+
+  // Notes added while the initial build runs; the build skips them.
+  private Set<String> addedDuringBuild = new HashSet<>();
+  private volatile boolean building;
+  private volatile boolean running;
+
+  public NoteSearchIndex(
+    NoteStore noteStore,
+    Optional<NoteArchive> noteArchive,
+    MeterRegistry meterRegistry,
+    @Value("${echo.search.enabled:true}") boolean enabled,
+    @Value("${echo.search.build-batch-size:1000}") int buildBatchSize,
+    @Value(
+      "${echo.search.max-postings-per-term:50000}"
+    ) int maxPostingsPerTerm
+  ) {
+    this.noteStore = noteStore;
+    this.noteArchive = noteArchive.orElse(null);
+    this.enabled = enabled;
+    this.buildBatchSize = buildBatchSize;
+    this.maxPostingsPerTerm = Math.max(maxPostingsPerTerm, 1);
+    Gauge.builder("echo.notes.search.documents", this, index -> index.docCount)
+      .description("Notes in the search index")
+      .register(meterRegistry);
+    Gauge.builder("echo.notes.search.terms", this, NoteSearchIndex::termCount)
+      .description("Distinct terms in the search index")
+      .register(meterRegistry);
+  }
+
+  /**
+   * Adds a newly created note to the index.
+   *
+   * @param note the created note
+   */
+  public void add(NoteResponse note) {
+    if (!enabled) {
+      return;
+    }
+    lock.writeLock().lock();
+    try {
+      if (building) {
+        addedDuringBuild.add(note.getId());
+      }
+      index(note.getId(), note.getMessage(), note.getAuthor());
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Ranks the notes matching any of the query terms.
+   *
+   * @param query  the search text
+   * @param offset the number of top results to skip
+   * @param limit  the maximum number of results to return
+   * @return the matching note IDs in rank order, and the total match count,
+   *         which is a lower bound when a term has more postings than are
+   *         walked
+   */
+  public Hits search(String query, int offset, int limit) {
+    List<String> terms = tokenize(query);
+    if (terms.size() > MAX_QUERY_TERMS) {
+      terms = terms.subList(0, MAX_QUERY_TERMS);
+    }
+    lock.readLock().lock();
+    try {
+      return rank(new ArrayList<>(new HashSet<>(terms)), offset, limit);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    if (enabled) {
+      building = true;
+      Thread.ofPlatform()
+        .daemon(true)
+        .name("note-search-index")
+        .start(this::build);
+    }
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void build() {
+    long started = System.nanoTime();
+    int indexed = 0;
+    try (Stream<NoteView> notes = streamAll()) {
+      Iterator<NoteView> iterator = notes.iterator();
+      while (running && iterator.hasNext()) {
+        NoteView note = iterator.next();
+        lock.writeLock().lock();
+        try {
+          if (!addedDuringBuild.contains(note.getId())) {
+            index(note.getId(), note.getMessage(), note.getAuthor());
+            indexed++;
+          }
+        } finally {
+          lock.writeLock().unlock();
+        }
+      }
+      log.info(
+        "Search index built with {} notes in {} ms",
+        indexed,
+        (System.nanoTime() - started) / 1_000_000
+      );
+    } catch (RuntimeException e) {
+      log.error("Failed to build search index: {}", e.getMessage());
+    } finally {
+      lock.writeLock().lock();
+      try {
+        building = false;
+        addedDuringBuild = Set.of();
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+  }
+
+  private Stream<NoteView> streamAll() {
+    if (noteArchive == null) {
+      return noteStore.streamRange(null, null, buildBatchSize);
+    }
+    // The build may start before the archive's first scheduled refresh.
+    noteArchive.refresh();
+    return noteArchive.streamRange(null, null, buildBatchSize, () ->
+      noteStore.streamRange(null, null, buildBatchSize)
+    );
+  }
+
+  // Must be called with the write lock held.
+  private void index(String id, String message, String author) {
+    if (!ObjectId.isValid(id)) {
+      return;
+    }
+    int doc = docCount;
+    if (doc == lengths.length) {
+      lengths = Arrays.copyOf(lengths, doc * 2);
+      idWords = Arrays.copyOf(idWords, doc * 6);
+    }
+    byte[] objectId = new ObjectId(id).toByteArray();
+    for (int word = 0; word < 3; word++) {
+      idWords[doc * 3 + word] =
+        ((objectId[word * 4] & 0xff) << 24) |
+        ((objectId[word * 4 + 1] & 0xff) << 16) |
+        ((objectId[word * 4 + 2] & 0xff) << 8) |
+        (objectId[word * 4 + 3] & 0xff);
+    }
+
+    List<String> messageTokens = tokenize(message);
+    Map<String, Integer> frequencies = new HashMap<>();
+    messageTokens.forEach(term -> frequencies.merge(term, 1, Integer::sum));
+    frequencies.forEach((term, frequency) ->
+      messageTerms
+        .computeIfAbsent(term, t -> new Postings())
+        .add(doc, frequency)
+    );
+    new HashSet<>(tokenize(author)).forEach(term ->
+      authorTerms.computeIfAbsent(term, t -> new Postings()).add(doc, 1)
+    );
+
+    lengths[doc] = messageTokens.size();
+    totalLength += messageTokens.size();
+    docCount = doc + 1;
+  }
+
+  // Must be called with the read lock held. Merges the newest
+  // maxPostingsPerTerm postings of each list in document order and keeps the
+  // best offset + limit hits in a min-heap of (score bits << 32 | doc), so
+  // ties favour newer documents. IDF still uses the full list sizes.
+  private Hits rank(List<String> terms, int offset, int limit) {
+    if (terms.isEmpty() || docCount == 0 || limit <= 0) {
+      return new Hits(List.of(), 0);
+    }
+    List<Postings> lists = new ArrayList<>();
+    List<Float> weights = new ArrayList<>();
+    List<Boolean> authorLists = new ArrayList<>();
+    for (String term : terms) {
+      addList(messageTerms.get(term), false, lists, weights, authorLists);
+      addList(authorTerms.get(term), true, lists, weights, authorLists);
+    }
+    if (lists.isEmpty()) {
+      return new Hits(List.of(), 0);
+    }
+
+    float averageLength = Math.max(1f, (float) totalLength / docCount);
+    int[] positions = new int[lists.size()];
+    long largestList = 0;
+    for (int i = 0; i < lists.size(); i++) {
+      int size = lists.get(i).size;
+      positions[i] = Math.max(0, size - maxPostingsPerTerm);
+      largestList = Math.max(largestList, size);
+    }
+    int wanted = offset + limit;
+    long[] heap = new long[wanted];
+    int heapSize = 0;
+    long total = 0;
+    while (true) {
+      int doc = Integer.MAX_VALUE;
+      for (int i = 0; i < lists.size(); i++) {
+        Postings list = lists.get(i);
+        if (positions[i] < list.size) {
+          doc = Math.min(doc, list.docs[positions[i]]);
+        }
+      }
+      if (doc == Integer.MAX_VALUE) {
+        break;
+      }
+      float score = 0;
+      for (int i = 0; i < lists.size(); i++) {
+        Postings list = lists.get(i);
+        if (positions[i] < list.size && list.docs[positions[i]] == doc) {
+          float weight = weights.get(i);
+          if (authorLists.get(i)) {
+            score += weight * AUTHOR_BOOST;
+          } else {
+            int tf = list.freqs[positions[i]];
+            float norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+            score += weight * (tf * (K1 + 1)) / (tf + norm);
+          }
+          positions[i]++;
+        }
+      }
+      total++;
+      long key = ((long) Float.floatToIntBits(score) << 32) | doc;
+      if (heapSize < wanted) {
+        heap[heapSize++] = key;
+        siftUp(heap, heapSize - 1);
+      } else if (key > heap[0]) {
+        heap[0] = key;
+        siftDown(heap, heapSize);
+      }
+    }
+
+    long[] ranked = Arrays.copyOf(heap, heapSize);
+    Arrays.sort(ranked);
+    List<String> ids = new ArrayList<>(limit);
+    for (int i = ranked.length - 1 - offset; i >= 0; i--) {
+      ids.add(objectId((int) ranked[i]));
+    }
+    // Every document of the longest list matches, walked or not.
+    return new Hits(ids, Math.max(total, largestList));
+  }
+
+  private void addList(
+    Postings list,
+    boolean author,
+    List<Postings> lists,
+    List<Float> weights,
+    List<Boolean> authorLists
+  ) {
+    if (list == null) {
+      return;
+    }
+    double idf = Math.log(
+      1 + (docCount - list.size + 0.5) / (list.size + 0.5)
+    );
+    lists.add(list);
+    weights.add((float) idf);
+    authorLists.add(author);
+  }
+
+  private String objectId(int doc) {
+    byte[] bytes = new byte[12];
+    for (int word = 0; word < 3; word++) {
+      int value = idWords[doc * 3 + word];
+      bytes[word * 4] = (byte) (value >>> 24);
+      bytes[word * 4 + 1] = (byte) (value >>> 16);
+      bytes[word * 4 + 2] = (byte) (value >>> 8);
+      bytes[word * 4 + 3] = (byte) value;
+    }
+    return new ObjectId(bytes).toHexString();
+  }
+
+  private int termCount() {
+    lock.readLock().lock();
+    try {
+      return messageTerms.size() + authorTerms.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Splits text into lowercase letter-or-digit terms. Stored text is
+   * sanitized HTML, so entities are decoded first.
+   */
+  static List<String> tokenize(String text) {
+    if (text == null || text.isEmpty()) {
+      return List.of();
+    }
+    String plain = text.indexOf('&') >= 0
+      ? Parser.unescapeEntities(text, false)
+      : text;
+    List<String> terms = new ArrayList<>();
+    StringBuilder term = new StringBuilder();
+    for (int i = 0; i <= plain.length(); i++) {
+      int c = i < plain.length() ? plain.codePointAt(i) : ' ';
+      if (Character.isLetterOrDigit(c)) {
+        if (term.length() < MAX_TERM_LENGTH) {
+          term.appendCodePoint(Character.toLowerCase(c));
+        }
+        if (Character.isSupplementaryCodePoint(c)) {
+          i++;
+        }
+      } else if (!term.isEmpty()) {
+        if (term.length() >= MIN_TERM_LENGTH) {
+          terms.add(term.toString());
+        }
+        term.setLength(0);
+      }
+    }
+    return terms;
+  }
+
+  private static void siftUp(long[] heap, int index) {
+    while (index > 0) {
+      int parent = (index - 1) >>> 1;
+      if (heap[parent] <= heap[index]) {
+        return;
+      }
+      swap(heap, parent, index);
+      index = parent;
+    }
+  }
+
+  private static void siftDown(long[] heap, int size) {
+    int index = 0;
+    while (true) {
+      int smallest = index;
+      int left = 2 * index + 1;
+      int right = left + 1;
+      if (left < size && heap[left] < heap[smallest]) {
+        smallest = left;
+      }
+      if (right < size && heap[right] < heap[smallest]) {
+        smallest = right;
+      }
+      if (smallest == index) {
+        return;
+      }
+      swap(heap, smallest, index);
+      index = smallest;
+    }
+  }
+
+  private static void swap(long[] heap, int i, int j) {
+    long value = heap[i];
+    heap[i] = heap[j];
+    heap[j] = value;
+  }
+
+  /**
+   * A page of ranked note IDs and the total number of matching notes.
+   */
+  public static final class Hits {
+
+    private final List<String> ids;
+    private final long total;
+
+    Hits(List<String> ids, long total) {
+      this.ids = ids;
+      this.total = total;
+    }
+
+    public List<String> getIds() {
+      return ids;
+    }
+
+    public long getTotal() {
+      return total;
+    }
+  }
+
+  private static final class Postings {
+
+    int[] docs = new int[2];
+    byte[] freqs = new byte[2];
+    int size;
+
+    void add(int doc, int frequency) {
+      if (size == docs.length) {
+        docs = Arrays.copyOf(docs, size * 2);
+        freqs = Arrays.copyOf(freqs, size * 2);
+      }
+      docs[size] = doc;
+      freqs[size] = (byte) Math.min(frequency, Byte.MAX_VALUE);
+      size++;
+    }
+  }
+}
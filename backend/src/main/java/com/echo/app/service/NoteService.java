@@ -3,61 +3,102 @@
 package com.echo.app.service;
 
 import com.echo.app.dto.CreateNoteRequest;
+import com.echo.app.dto.CursorResponse;
+import com.echo.app.dto.JsonPayload;
 import com.echo.app.dto.NoteResponse;
 import com.echo.app.dto.PagedResponse;
-import com.echo.app.exception.RateLimitExceededException;
+import com.echo.app.exception.DuplicateNoteException;
+import com.echo.app.exception.InvalidSortException;
+import com.echo.app.exception.WriteBackpressureException;
 import com.echo.app.model.Note;
-import com.echo.app.model.NoteMeta;
-import com.echo.app.repository.NoteRepository;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import com.echo.app.model.NoteView;
+import com.echo.app.repository.NoteArchive;
+import com.echo.app.repository.NoteStore;
 import java.time.Instant;
-import java.util.HexFormat;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import org.jsoup.Jsoup;
-import org.jsoup.safety.Safelist;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 /**
- * Service layer for note operations including validation, sanitization, and
- * rate limiting.
+ * Service layer for note operations including validation, sanitization and
+ * caching.
  */
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class NoteService {
 
   private static final Logger log = LoggerFactory.getLogger(NoteService.class);
 
-  private final NoteRepository noteRepository;
-  private final RateLimitService rateLimitService;
-  private final String ipSalt;
+  private static final Set<String> SORTABLE_FIELDS = Set.of("createdAt");
+  private static final int MAX_SEARCH_DEPTH = 1000;
+
+  private final NoteStore noteStore;
+  private final NoteCountService noteCountService;
+  private final NoteFeedCache noteFeedCache;
+  private final NoteJsonCache noteJsonCache;
+  private final NoteWriteBuffer noteWriteBuffer;
+  private final NoteFactory noteFactory;
+  private final IpHasher ipHasher;
+  private final NoteStreamService noteStreamService;
+  private final NoteSearchIndex noteSearchIndex;
+  private final NoteDeduplicator noteDeduplicator;
+  private final NoteMetrics noteMetrics;
+  // Absent with the embedded store.
+  private final NoteArchive noteArchive;
 
   public NoteService(
-    NoteRepository noteRepository,
-    RateLimitService rateLimitService,
-    @Value("${echo.ip-salt}") String ipSalt
+    NoteStore noteStore,
+    NoteCountService noteCountService,
+    NoteFeedCache noteFeedCache,
+    NoteJsonCache noteJsonCache,
+    NoteWriteBuffer noteWriteBuffer,
+    NoteFactory noteFactory,
+    IpHasher ipHasher,
+    NoteStreamService noteStreamService,
+    NoteSearchIndex noteSearchIndex,
+    NoteDeduplicator noteDeduplicator,
+    NoteMetrics noteMetrics,
+    Optional<NoteArchive> noteArchive
   ) {
-    this.noteRepository = noteRepository;
-    this.rateLimitService = rateLimitService;
-    this.ipSalt = ipSalt;
+    this.noteStore = noteStore;
+    this.noteCountService = noteCountService;
+    this.noteFeedCache = noteFeedCache;
+    this.noteJsonCache = noteJsonCache;
+    this.noteWriteBuffer = noteWriteBuffer;
+    this.noteFactory = noteFactory;
+    this.ipHasher = ipHasher;
+    this.noteStreamService = noteStreamService;
+    this.noteSearchIndex = noteSearchIndex;
+    this.noteDeduplicator = noteDeduplicator;
+    this.noteMetrics = noteMetrics;
+    this.noteArchive = noteArchive.orElse(null);
   }
 
   /**
-   * Retrieves a paginated list of notes.
+   * Retrieves a paginated list of notes. The top pages of the default feed
+   * are served from {@link NoteFeedCache}; other pages use a slice query
+   * that continues into the archive. Either way the cached approximate total
+   * replaces a per-request count.
    *
    * @param page          the page number (0-indexed)
    * @param size          the page size (max 100)
    * @param sortField     the field to sort by
    * @param sortDirection the sort direction (asc/desc)
    * @return paginated response of notes
+   * @throws InvalidSortException if the sort field is not sortable
    */
   public PagedResponse<NoteResponse> getNotes(
     int page,
@@ -69,70 +110,332 @@ public class NoteService {
     Sort.Direction direction = "asc".equalsIgnoreCase(sortDirection)
       ? Sort.Direction.ASC
       : Sort.Direction.DESC;
-    Pageable pageable = PageRequest.of(
+    Sort sort = listingSort(sortField, direction);
+    Slice<NoteResponse> noteSlice = null;
+    if ("createdAt".equals(sortField) && direction == Sort.Direction.DESC) {
+      noteSlice = noteMetrics
+        .fetch()
+        .record(() -> noteFeedCache.getPage(page, clampedSize).orElse(null));
+    }
+    if (noteSlice == null) {
+      Pageable pageable = PageRequest.of(page, clampedSize, sort);
+      Slice<NoteView> viewSlice = noteMetrics
+        .fetch()
+        .record(() -> findViews(pageable, direction));
+      noteSlice = noteMetrics
+        .map()
+        .record(() -> viewSlice.map(NoteResponse::fromView));
+    }
+    List<NoteResponse> items = noteSlice.getContent();
+
+    long approximateTotal = noteMetrics
+      .count()
+      .record(noteCountService::getApproximateTotal);
+    long totalItems = NoteCountService.reconcileTotal(
+      approximateTotal,
       page,
       clampedSize,
-      Sort.by(direction, sortField)
+      items.size(),
+      noteSlice.hasNext()
     );
+    int totalPages = (int) ((totalItems + clampedSize - 1) / clampedSize);
 
-    Page<Note> notePage = noteRepository.findAll(pageable);
-    List<NoteResponse> items = notePage
-      .getContent()
-      .stream()
-      .map(NoteResponse::fromEntity)
-      .toList();
+    return new PagedResponse<>(
+      noteSlice.getNumber(),
+      noteSlice.getSize(),
+      totalPages,
+      totalItems,
+      items
+    );
+  }
 
+  /**
+   * Searches note messages and authors, best matches first. Hits that have
+   * been archived are read from the archive. Notes still waiting in the
+   * write buffer are left out until they have been flushed.
+   *
+   * @param query the search text
+   * @param page  the page number (0-indexed)
+   * @param size  the page size (max 100)
+   * @return paginated response of matching notes
+   */
+  public PagedResponse<NoteResponse> searchNotes(
+    String query,
+    int page,
+    int size
+  ) {
+    int clampedSize = Math.min(Math.max(size, 1), 100);
+    int clampedPage = Math.min(
+      Math.max(page, 0),
+      MAX_SEARCH_DEPTH / clampedSize
+    );
+    NoteSearchIndex.Hits hits = noteSearchIndex.search(
+      query,
+      clampedPage * clampedSize,
+      clampedSize
+    );
+    List<NoteResponse> items = List.of();
+    if (!hits.getIds().isEmpty()) {
+      Map<String, NoteView> views = noteStore
+        .findViewsByIdIn(hits.getIds())
+        .stream()
+        .collect(Collectors.toMap(NoteView::getId, Function.identity()));
+      if (noteArchive != null && views.size() < hits.getIds().size()) {
+        List<String> missing = hits
+          .getIds()
+          .stream()
+          .filter(id -> !views.containsKey(id))
+          .toList();
+        noteArchive
+          .findViewsByIdIn(missing)
+          .forEach(view -> views.put(view.getId(), view));
+      }
+      items = hits
+        .getIds()
+        .stream()
+        .map(views::get)
+        .filter(view -> view != null)
+        .map(NoteResponse::fromView)
+        .toList();
+    }
+    int totalPages = (int) ((hits.getTotal() + clampedSize - 1) / clampedSize);
     return new PagedResponse<>(
-      notePage.getNumber(),
-      notePage.getSize(),
-      notePage.getTotalPages(),
-      notePage.getTotalElements(),
+      clampedPage,
+      clampedSize,
+      totalPages,
+      hits.getTotal(),
       items
     );
   }
 
+  // The archive holds the oldest notes, so it follows the hot collection
+  // newest first and precedes it oldest first. Only pages past the hot
+  // collection pay for counting it.
+  private Slice<NoteView> findViews(
+    Pageable pageable,
+    Sort.Direction direction
+  ) {
+    if (noteArchive == null) {
+      return noteStore.findViewsBy(pageable);
+    }
+    long offset = pageable.getOffset();
+    int limit = pageable.getPageSize() + 1;
+    List<NoteView> views = new ArrayList<>(limit);
+    if (direction.isDescending()) {
+      views.addAll(
+        noteStore.findRange(offset, limit, pageable.getSort())
+      );
+      if (views.size() < limit) {
+        long archiveOffset = views.isEmpty()
+          ? Math.max(offset - noteStore.count(), 0)
+          : 0;
+        views.addAll(
+          noteArchive.findRange(archiveOffset, limit - views.size(), direction)
+        );
+      }
+    } else {
+      long archived = noteArchive.count();
+      if (offset < archived) {
+        views.addAll(noteArchive.findRange(offset, limit, direction));
+      }
+      if (views.size() < limit) {
+        long hotOffset = views.isEmpty() ? Math.max(offset - archived, 0) : 0;
+        views.addAll(
+          noteStore.findRange(
+            hotOffset,
+            limit - views.size(),
+            pageable.getSort()
+          )
+        );
+      }
+    }
+    boolean hasNext = views.size() == limit;
+    if (hasNext) {
+      views.remove(views.size() - 1);
+    }
+    return new SliceImpl<>(views, pageable, hasNext);
+  }
+
+  private List<NoteView> findAfter(
+    Instant createdAt,
+    String id,
+    Sort.Direction direction,
+    int limit
+  ) {
+    if (noteArchive == null) {
+      return noteStore.findAfter(createdAt, id, direction, limit);
+    }
+    List<NoteView> notes = new ArrayList<>(limit);
+    if (direction.isDescending()) {
+      notes.addAll(noteStore.findAfter(createdAt, id, direction, limit));
+      if (notes.size() < limit) {
+        int remaining = limit - notes.size();
+        notes.addAll(
+          noteArchive.findAfter(createdAt, id, direction, remaining)
+        );
+      }
+    } else {
+      notes.addAll(noteArchive.findAfter(createdAt, id, direction, limit));
+      if (notes.size() < limit) {
+        int remaining = limit - notes.size();
+        notes.addAll(
+          noteStore.findAfter(createdAt, id, direction, remaining)
+        );
+      }
+    }
+    return notes;
+  }
+
+  /**
+   * Returns the sort for a listing, with the ID as tiebreaker. Only fields
+   * backed by the {@code createdAt_id} index are accepted, so listings never
+   * fall back to collection scans or in-memory sorts.
+   *
+   * @param sortField the requested sort field
+   * @param direction the sort direction
+   * @return the listing sort
+   * @throws InvalidSortException if the field is not sortable
+   */
+  static Sort listingSort(String sortField, Sort.Direction direction) {
+    if (!SORTABLE_FIELDS.contains(sortField)) {
+      throw new InvalidSortException(
+        "Unsupported sort field: " + sortField + ". Sortable fields: " +
+        String.join(", ", SORTABLE_FIELDS)
+      );
+    }
+    return Sort.by(direction, sortField).and(Sort.by(direction, "id"));
+  }
+
+  /**
+   * Retrieves a paginated list of notes as pre-serialized JSON.
+   *
+   * @param page          the page number (0-indexed)
+   * @param size          the page size (max 100)
+   * @param sortField     the field to sort by
+   * @param sortDirection the sort direction (asc/desc)
+   * @return the serialized page with its ETag
+   */
+  public JsonPayload getNotesJson(
+    int page,
+    int size,
+    String sortField,
+    String sortDirection
+  ) {
+    return noteJsonCache.page(getNotes(page, size, sortField, sortDirection));
+  }
+
+  /**
+   * Retrieves a page of notes using keyset pagination over (createdAt, id).
+   *
+   * @param cursor        the cursor returned by the previous page, or null/blank
+   *                      to start from the first page
+   * @param size          the page size (max 100)
+   * @param sortDirection the sort direction (asc/desc) used when no cursor is
+   *                      given; a cursor carries its own direction
+   * @return cursor-paginated response of notes
+   */
+  public CursorResponse<NoteResponse> getNotesByCursor(
+    String cursor,
+    int size,
+    String sortDirection
+  ) {
+    int clampedSize = Math.min(Math.max(size, 1), 100);
+    NoteCursor after = cursor == null || cursor.isBlank()
+      ? null
+      : NoteCursor.decode(cursor);
+    Sort.Direction direction = after != null
+      ? after.getDirection()
+      : "asc".equalsIgnoreCase(sortDirection)
+        ? Sort.Direction.ASC
+        : Sort.Direction.DESC;
+
+    List<NoteView> notes = findAfter(
+      after != null ? after.getCreatedAt() : null,
+      after != null ? after.getId() : null,
+      direction,
+      clampedSize + 1
+    );
+
+    boolean hasNext = notes.size() > clampedSize;
+    List<NoteView> pageNotes = hasNext ? notes.subList(0, clampedSize) : notes;
+    String nextCursor = null;
+    if (hasNext) {
+      NoteView last = pageNotes.get(pageNotes.size() - 1);
+      nextCursor = new NoteCursor(
+        direction,
+        last.getCreatedAt(),
+        last.getId()
+      ).encode();
+    }
+
+    List<NoteResponse> items = pageNotes
+      .stream()
+      .map(NoteResponse::fromView)
+      .toList();
+    return new CursorResponse<>(clampedSize, nextCursor, items);
+  }
+
   /**
-   * Creates a new note with sanitization and rate limiting.
+   * Creates a new note with sanitization. Rate limiting has already been
+   * applied by {@link com.echo.app.filter.RateLimitFilter}.
    *
    * @param request   the create note request
    * @param clientIp  the client IP address
    * @param userAgent the client user agent
    * @return the created note response
-   * @throws RateLimitExceededException if rate limit is exceeded
+   * @throws DuplicateNoteException if the message repeats a recent note
+   * @throws WriteBackpressureException if the write pipeline is saturated
    */
   public NoteResponse createNote(
     CreateNoteRequest request,
     String clientIp,
     String userAgent
   ) {
-    String ipHash = hashIp(clientIp);
-
-    if (!rateLimitService.tryConsume(ipHash)) {
-      log.warn("Rate limit exceeded for ipHash: {}", ipHash);
-      throw new RateLimitExceededException(
-        "Rate limit exceeded. Please try again later."
-      );
-    }
-
-    String sanitizedMessage = sanitize(request.getMessage());
-    String sanitizedAuthor =
-      request.getAuthor() != null ? sanitize(request.getAuthor().trim()) : null;
-
-    if (sanitizedAuthor != null && sanitizedAuthor.isEmpty()) {
-      sanitizedAuthor = null;
+    NoteDeduplicator.Fingerprint fingerprint = noteMetrics
+      .dedup()
+      .record(() -> noteDeduplicator.check(request.getMessage()));
+    NoteWriteBuffer.Write write;
+    try {
+      String ipHash = noteMetrics.hash().record(() -> ipHasher.hash(clientIp));
+      Note note = noteMetrics
+        .sanitize()
+        .record(() -> noteFactory.newNote(request, ipHash, userAgent));
+      write = noteMetrics.save().record(() -> noteWriteBuffer.save(note));
+    } catch (RuntimeException e) {
+      noteDeduplicator.release(fingerprint);
+      throw e;
     }
-
-    Note note = new Note();
-    note.setMessage(sanitizedMessage);
-    note.setAuthor(sanitizedAuthor);
-    note.setCreatedAt(Instant.now());
-    note.setIpHash(ipHash);
-    note.setMeta(new NoteMeta(userAgent, null));
-
-    Note saved = noteRepository.save(note);
+    Note saved = write.getNote();
+    // A buffered write keeps the message reserved until it is flushed.
+    write.onSaved(() -> noteDeduplicator.record(fingerprint));
+    noteCountService.increment(1);
     log.info("Created note with id: {}", saved.getId());
 
-    return NoteResponse.fromEntity(saved);
+    NoteResponse response = NoteResponse.fromEntity(saved);
+    noteFeedCache.onCreated(response);
+    // Serialize once up front so reads are served before a buffered write
+    // has been flushed.
+    noteJsonCache.note(response);
+    noteStreamService.onLocalNoteCreated(response);
+    noteSearchIndex.add(response);
+    // Registered last, so a write that has already failed is undone after
+    // the caches above were filled.
+    write.onLost(() -> forgetLostNote(saved.getId(), fingerprint));
+    return response;
+  }
+
+  // A buffered write acknowledged with durability enqueue failed for good:
+  // stop serving the note from memory and let the client post it again.
+  // Search hits are resolved against the store, so the search index needs
+  // no cleanup.
+  private void forgetLostNote(
+    String id,
+    NoteDeduplicator.Fingerprint fingerprint
+  ) {
+    noteDeduplicator.release(fingerprint);
+    noteJsonCache.evictNote(id);
+    noteFeedCache.remove(id);
+    noteCountService.increment(-1);
   }
 
   /**
@@ -143,24 +446,25 @@ public class NoteService {
    */
   @SuppressWarnings("null")
   public Optional<NoteResponse> getNoteById(String id) {
-    return noteRepository.findById(id).map(NoteResponse::fromEntity);
-  }
-
-  private String sanitize(String input) {
-    if (input == null) {
-      return null;
+    Optional<NoteView> view = noteStore.findViewById(id);
+    if (view.isEmpty() && noteArchive != null) {
+      view = noteArchive.findViewById(id);
     }
-    return Jsoup.clean(input.trim(), Safelist.simpleText());
+    return view.map(NoteResponse::fromView);
   }
 
-  private String hashIp(String ip) {
-    try {
-      MessageDigest digest = MessageDigest.getInstance("SHA-256");
-      String toHash = ip + ipSalt;
-      byte[] hash = digest.digest(toHash.getBytes(StandardCharsets.UTF_8));
-      return HexFormat.of().formatHex(hash);
-    } catch (NoSuchAlgorithmException e) {
-      throw new RuntimeException("SHA-256 not available", e);
+  /**
+   * Retrieves a single note by ID as pre-serialized JSON. Notes are immutable,
+   * so a cached copy is served without touching the database.
+   *
+   * @param id the note ID
+   * @return optional containing the serialized note if found
+   */
+  public Optional<JsonPayload> getNoteJsonById(String id) {
+    Optional<JsonPayload> cached = noteJsonCache.findNote(id);
+    if (cached.isPresent()) {
+      return cached;
     }
+    return getNoteById(id).map(noteJsonCache::note);
   }
 }
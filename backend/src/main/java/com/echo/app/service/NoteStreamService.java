@@ -0,0 +1,323 @@
+// src/main/java/com/echo/app/service/NoteStreamService.java
+
+package com.echo.app.service;
+
+import com.echo.app.dto.NoteResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Fans newly created notes out to Server-Sent Events subscribers.
+ *
+ * <p>Each note is serialized into an SSE frame once and the same frame is
+ * queued for every subscriber, so one write reaches all watchers without any
+ * database reads. Every subscriber has a bounded queue drained on its own
+ * virtual thread; a subscriber whose queue overflows, or whose socket blocks
+ * a send for longer than {@code echo.stream.send-timeout-ms}, is dropped
+ * rather than slowing down everyone else. Recent events are kept in a replay
+ * buffer so reconnecting clients resume from their {@code Last-Event-ID}.
+ *
+ * <p>Notes come either from {@code createNote} on this replica
+ * ({@code echo.stream.source=local}) or from a MongoDB change stream
+ * ({@code change-stream}) so that every replica sees every note.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class NoteStreamService {
+
+  private static final Logger log = LoggerFactory.getLogger(
+    NoteStreamService.class
+  );
+
+  private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event()
+    .comment("heartbeat")
+    .build();
+  private static final Set<DataWithMediaType> RESET = SseEmitter.event()
+    .name("reset")
+    .data("{}", MediaType.APPLICATION_JSON)
+    .build();
+
+  private final NoteJsonCache noteJsonCache;
+  private final boolean localSource;
+  private final int bufferSize;
+  private final int maxSubscribers;
+  private final long timeoutMillis;
+  private final long sendTimeoutNanos;
+  private final StreamEvent[] replay;
+  private final ReentrantLock replayLock = new ReentrantLock();
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+  // One virtual thread per drain, so a stalled socket parks only its own
+  // sender; dropStalled() interrupts senders that stay blocked too long.
+  private final ExecutorService senders;
+  private final Counter published;
+  private final Counter dropped;
+
+  private long sequence;
+  private int replayHead;
+
+  public NoteStreamService(
+    NoteJsonCache noteJsonCache,
+    MeterRegistry meterRegistry,
+    @Value("${echo.stream.source:local}") String source,
+    @Value("${echo.stream.buffer-size:64}") int bufferSize,
+    @Value("${echo.stream.replay-size:1000}") int replaySize,
+    @Value("${echo.stream.max-subscribers:10000}") int maxSubscribers,
+    @Value("${echo.stream.timeout-ms:1800000}") long timeoutMillis,
+    @Value("${echo.stream.send-timeout-ms:10000}") long sendTimeoutMillis
+  ) {
+    this.noteJsonCache = noteJsonCache;
+    this.localSource = !"change-stream".equalsIgnoreCase(source);
+    this.bufferSize = bufferSize;
+    this.maxSubscribers = maxSubscribers;
+    this.timeoutMillis = timeoutMillis;
+    this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+    this.replay = new StreamEvent[replaySize];
+    this.senders = Executors.newThreadPerTaskExecutor(
+      Thread.ofVirtual().name("note-stream-", 0).factory()
+    );
+    this.published = Counter.builder("echo.notes.stream.published")
+      .description("Notes fanned out to stream subscribers")
+      .register(meterRegistry);
+    this.dropped = Counter.builder("echo.notes.stream.dropped")
+      .description("Stream subscribers dropped for falling behind")
+      .register(meterRegistry);
+    Gauge.builder("echo.notes.stream.subscribers", subscribers, Set::size)
+      .description("Connected stream subscribers")
+      .register(meterRegistry);
+  }
+
+  /**
+   * Opens a stream of newly created notes.
+   *
+   * @param lastEventId the ID of the last note the client received, or null
+   * @return the emitter, or empty if the subscriber limit is reached
+   */
+  public Optional<SseEmitter> subscribe(String lastEventId) {
+    if (subscribers.size() >= maxSubscribers) {
+      return Optional.empty();
+    }
+    SseEmitter emitter = new SseEmitter(timeoutMillis);
+    Subscriber subscriber = new Subscriber(emitter, bufferSize);
+    emitter.onCompletion(() -> subscribers.remove(subscriber));
+    emitter.onTimeout(() -> subscribers.remove(subscriber));
+    emitter.onError(error -> subscribers.remove(subscriber));
+
+    replayLock.lock();
+    try {
+      subscriber.startSequence = sequence;
+      if (lastEventId != null && !lastEventId.isBlank()) {
+        List<StreamEvent> missed = eventsAfter(lastEventId);
+        if (missed == null || missed.size() > bufferSize) {
+          // Too far behind to replay; tell the client to reload the feed.
+          subscriber.queue.offer(RESET);
+        } else {
+          missed.forEach(event -> subscriber.queue.offer(event.frame));
+        }
+      }
+      subscribers.add(subscriber);
+    } finally {
+      replayLock.unlock();
+    }
+    schedule(subscriber);
+    return Optional.of(emitter);
+  }
+
+  /**
+   * Publishes a note created on this replica, unless notes are sourced from
+   * a change stream.
+   *
+   * @param note the created note
+   */
+  public void onLocalNoteCreated(NoteResponse note) {
+    if (localSource) {
+      publish(note);
+    }
+  }
+
+  /**
+   * Fans a note out to all subscribers.
+   *
+   * @param note the note
+   */
+  public void publish(NoteResponse note) {
+    byte[] json = noteJsonCache.note(note).getBody();
+    Set<DataWithMediaType> frame = SseEmitter.event()
+      .id(note.getId())
+      .name("note")
+      .data(json, MediaType.APPLICATION_JSON)
+      .build();
+
+    StreamEvent event;
+    replayLock.lock();
+    try {
+      event = new StreamEvent(++sequence, note.getId(), frame);
+      if (replay.length > 0) {
+        replay[replayHead] = event;
+        replayHead = (replayHead + 1) % replay.length;
+      }
+    } finally {
+      replayLock.unlock();
+    }
+
+    published.increment();
+    for (Subscriber subscriber : subscribers) {
+      if (event.sequence > subscriber.startSequence) {
+        enqueue(subscriber, event.frame);
+      }
+    }
+  }
+
+  /**
+   * Sends a heartbeat comment to every subscriber so that idle connections
+   * stay open through proxies and dead ones are detected.
+   */
+  @Scheduled(fixedDelayString = "${echo.stream.heartbeat-ms:15000}")
+  public void heartbeat() {
+    for (Subscriber subscriber : subscribers) {
+      enqueue(subscriber, HEARTBEAT);
+    }
+  }
+
+  /**
+   * Drops subscribers whose current send has been blocked for longer than
+   * the send timeout, typically clients that stopped reading, and interrupts
+   * their sender so the write fails instead of waiting for the socket.
+   */
+  @Scheduled(fixedDelayString = "${echo.stream.send-timeout-ms:10000}")
+  public void dropStalled() {
+    long now = System.nanoTime();
+    for (Subscriber subscriber : subscribers) {
+      long since = subscriber.sendingSince;
+      if (
+        since != 0 &&
+        now - since > sendTimeoutNanos &&
+        subscribers.remove(subscriber)
+      ) {
+        dropped.increment();
+        subscriber.closed = true;
+        Thread sender = subscriber.sender;
+        if (sender != null) {
+          sender.interrupt();
+        }
+      }
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    senders.shutdownNow();
+  }
+
+  private void enqueue(Subscriber subscriber, Set<DataWithMediaType> frame) {
+    if (subscriber.queue.offer(frame)) {
+      schedule(subscriber);
+    } else if (subscribers.remove(subscriber)) {
+      dropped.increment();
+      subscriber.closed = true;
+      schedule(subscriber);
+    }
+  }
+
+  private void schedule(Subscriber subscriber) {
+    if (subscriber.scheduled.compareAndSet(false, true)) {
+      senders.execute(() -> drain(subscriber));
+    }
+  }
+
+  private void drain(Subscriber subscriber) {
+    subscriber.sender = Thread.currentThread();
+    try {
+      Set<DataWithMediaType> frame;
+      while (!subscriber.closed && (frame = subscriber.queue.poll()) != null) {
+        subscriber.sendingSince = System.nanoTime();
+        subscriber.emitter.send(frame);
+        subscriber.sendingSince = 0;
+      }
+      if (subscriber.closed) {
+        subscriber.emitter.complete();
+      }
+    } catch (IOException | IllegalStateException e) {
+      subscriber.closed = true;
+      subscribers.remove(subscriber);
+      log.debug("Stream subscriber disconnected: {}", e.getMessage());
+    } finally {
+      subscriber.sendingSince = 0;
+      subscriber.sender = null;
+      subscriber.scheduled.set(false);
+    }
+    if (!subscriber.closed && !subscriber.queue.isEmpty()) {
+      schedule(subscriber);
+    }
+  }
+
+  // Must be called with replayLock held; returns null if the ID has already
+  // left the replay buffer. The buffer is walked oldest first from the head.
+  private List<StreamEvent> eventsAfter(String lastEventId) {
+    for (int i = 0; i < replay.length; i++) {
+      StreamEvent event = replay[(replayHead + i) % replay.length];
+      if (event != null && event.noteId.equals(lastEventId)) {
+        List<StreamEvent> events = new ArrayList<>();
+        for (int j = i + 1; j < replay.length; j++) {
+          events.add(replay[(replayHead + j) % replay.length]);
+        }
+        return events;
+      }
+    }
+    return null;
+  }
+
+  private static final class StreamEvent {
+
+    final long sequence;
+    final String noteId;
+    final Set<DataWithMediaType> frame;
+
+    StreamEvent(long sequence, String noteId, Set<DataWithMediaType> frame) {
+      this.sequence = sequence;
+      this.noteId = noteId;
+      this.frame = frame;
+    }
+  }
+
+  private static final class Subscriber {
+
+    final SseEmitter emitter;
+    final Queue<Set<DataWithMediaType>> queue;
+    final AtomicBoolean scheduled = new AtomicBoolean();
+    volatile boolean closed;
+    // System.nanoTime() when the current send started, or 0 when idle.
+    volatile long sendingSince;
+    volatile Thread sender;
+    long startSequence;
+
+    Subscriber(SseEmitter emitter, int bufferSize) {
+      this.emitter = emitter;
+      this.queue = new ArrayBlockingQueue<>(bufferSize);
+    }
+  }
+}
@@ -0,0 +1,382 @@
+// src/main/java/com/echo/app/service/NoteWriteBuffer.java
+
+package com.echo.app.service;
+
+import com.echo.app.exception.WriteBackpressureException;
+import com.echo.app.model.Note;
+import com.echo.app.model.NoteView;
+import com.echo.app.repository.NoteStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+/**
+ * Persists notes, optionally through an asynchronous write-behind queue.
+ *
+ * <p>When enabled, accepted notes get a client-side ObjectId and are queued;
+ * a single flusher thread writes them with one {@code insertMany} per batch,
+ * flushing when the batch is full or the flush interval has passed since its
+ * first note. With {@code durability: flush} callers wait for their batch to
+ * be written; with {@code durability: enqueue} they return once queued. A
+ * full queue is reported as {@link WriteBackpressureException}.
+ *
+ * <p>A failed batch is retried up to {@code max-retries} times, skipping
+ * notes a partially applied insert already wrote. Notes still unwritten
+ * after that are lost; with {@code durability: enqueue} the caller learns
+ * of it through {@link Write#onLost}. With {@code durability: flush}, a
+ * caller whose note is not written within {@code ack-timeout-ms} cancels it
+ * if it is still queued, or otherwise waits for the insert in progress, so
+ * a 503 always means the note was not saved and may be retried.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class NoteWriteBuffer implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(
+    NoteWriteBuffer.class
+  );
+
+  private final NoteStore noteStore;
+  private final boolean enabled;
+  private final boolean ackOnFlush;
+  private final int batchSize;
+  private final long flushIntervalNanos;
+  private final long ackTimeoutMillis;
+  private final int maxRetries;
+  private final long retryBackoffMillis;
+  private final boolean virtualThreads;
+  private final BlockingQueue<PendingNote> queue;
+  private final Timer flushTimer;
+  private final DistributionSummary batchSizes;
+  private final Counter failedNotes;
+  private final Counter retries;
+  private final Counter cancelledNotes;
+
+  private volatile boolean running;
+  private Thread flusher;
+
+  public NoteWriteBuffer(
+    NoteStore noteStore,
+    MeterRegistry meterRegistry,
+    @Value("${echo.write-behind.enabled:false}") boolean enabled,
+    @Value("${echo.write-behind.durability:flush}") String durability,
+    @Value("${echo.write-behind.capacity:10000}") int capacity,
+    @Value("${echo.write-behind.batch-size:500}") int batchSize,
+    @Value("${echo.write-behind.flush-interval-ms:50}") long flushIntervalMs,
+    @Value("${echo.write-behind.ack-timeout-ms:5000}") long ackTimeoutMillis,
+    @Value("${echo.write-behind.max-retries:3}") int maxRetries,
+    @Value("${echo.write-behind.retry-backoff-ms:200}") long retryBackoffMillis,
+    @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+  ) {
+    this.noteStore = noteStore;
+    this.enabled = enabled;
+    this.ackOnFlush = !"enqueue".equalsIgnoreCase(durability);
+    this.batchSize = batchSize;
+    this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+    this.ackTimeoutMillis = ackTimeoutMillis;
+    this.maxRetries = maxRetries;
+    this.retryBackoffMillis = retryBackoffMillis;
+    this.virtualThreads = virtualThreads;
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.flushTimer = Timer.builder("echo.notes.write.flush")
+      .description("Latency of write-behind batch inserts")
+      .register(meterRegistry);
+    this.batchSizes = DistributionSummary.builder("echo.notes.write.batch.size")
+      .description("Notes per write-behind batch")
+      .register(meterRegistry);
+    this.failedNotes = Counter.builder("echo.notes.write.failures")
+      .description("Notes lost after every write-behind retry failed")
+      .register(meterRegistry);
+    this.retries = Counter.builder("echo.notes.write.retries")
+      .description("Write-behind batch insert retries")
+      .register(meterRegistry);
+    this.cancelledNotes = Counter.builder("echo.notes.write.cancelled")
+      .description("Queued notes cancelled after their ack timed out")
+      .register(meterRegistry);
+    Gauge.builder("echo.notes.write.queue.depth", queue, BlockingQueue::size)
+      .description("Notes waiting in the write-behind queue")
+      .register(meterRegistry);
+  }
+
+  /**
+   * Persists a note, directly or through the write-behind queue.
+   *
+   * @param note the note to persist
+   * @return the acknowledged write of the note, with its ID assigned
+   * @throws WriteBackpressureException if the queue is full or the flush
+   *                                    did not complete in time; the note
+   *                                    has not been saved
+   */
+  public Write save(Note note) {
+    if (!enabled) {
+      return new Write(
+        noteStore.save(note),
+        CompletableFuture.completedFuture(null)
+      );
+    }
+
+    note.setId(new ObjectId().toHexString());
+    PendingNote pending = new PendingNote(note);
+    if (!running || !queue.offer(pending)) {
+      throw new WriteBackpressureException(
+        "Too many pending writes. Please try again later."
+      );
+    }
+    if (ackOnFlush) {
+      awaitFlush(pending);
+    }
+    return new Write(note, pending.flushed);
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    if (enabled) {
+      Thread.Builder builder = virtualThreads
+        ? Thread.ofVirtual()
+        : Thread.ofPlatform().daemon(true);
+      flusher = builder.name("note-write-behind").start(this::runFlusher);
+    }
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    if (flusher != null) {
+      try {
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  @Override
+  public int getPhase() {
+    // Stop after the web server so in-flight requests can still be flushed.
+    return SmartLifecycle.DEFAULT_PHASE - 4096;
+  }
+
+  private void awaitFlush(PendingNote pending) {
+    try {
+      try {
+        pending.flushed.get(ackTimeoutMillis, TimeUnit.MILLISECONDS);
+      } catch (TimeoutException e) {
+        if (pending.cancel()) {
+          cancelledNotes.increment();
+          throw new WriteBackpressureException(
+            "Write not confirmed in time. Please try again later."
+          );
+        }
+        // The flusher has claimed the note, so it may already be written;
+        // a retrying client would create a duplicate.
+        pending.flushed.get();
+      }
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Failed to save note", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while saving note", e);
+    }
+  }
+
+  private void runFlusher() {
+    List<PendingNote> batch = new ArrayList<>(batchSize);
+    while (running || !queue.isEmpty()) {
+      try {
+        PendingNote first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < batchSize) {
+          queue.drainTo(batch, batchSize - batch.size());
+          long remaining = deadline - System.nanoTime();
+          if (batch.size() >= batchSize || remaining <= 0 || !running) {
+            break;
+          }
+          PendingNote next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+          if (next != null) {
+            batch.add(next);
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        running = false;
+      }
+      if (!batch.isEmpty()) {
+        flush(batch);
+        batch.clear();
+      }
+    }
+  }
+
+  private void flush(List<PendingNote> batch) {
+    batch.removeIf(pending -> !pending.claim());
+    if (batch.isEmpty()) {
+      return;
+    }
+    List<Note> notes = batch.stream().map(pending -> pending.note).toList();
+    batchSizes.record(notes.size());
+    RuntimeException failure = null;
+    for (int attempt = 0; attempt <= maxRetries; attempt++) {
+      try {
+        if (attempt > 0) {
+          retries.increment();
+          Thread.sleep(retryBackoffMillis * attempt);
+          notes = unwritten(notes);
+        }
+        List<Note> pendingNotes = notes;
+        if (!pendingNotes.isEmpty()) {
+          flushTimer.record(() -> noteStore.insert(pendingNotes));
+        }
+        failure = null;
+        break;
+      } catch (RuntimeException e) {
+        failure = e;
+        log.warn(
+          "Failed to flush {} buffered notes (attempt {} of {}): {}",
+          notes.size(),
+          attempt + 1,
+          maxRetries + 1,
+          e.getMessage()
+        );
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        failure = new IllegalStateException("Interrupted while retrying", e);
+        break;
+      }
+    }
+    if (failure == null) {
+      batch.forEach(pending -> pending.flushed.complete(null));
+      return;
+    }
+    Set<String> lost = notes
+      .stream()
+      .map(Note::getId)
+      .collect(Collectors.toSet());
+    log.error("Lost {} buffered notes: {}", lost.size(), lost, failure);
+    failedNotes.increment(lost.size());
+    for (PendingNote pending : batch) {
+      if (lost.contains(pending.note.getId())) {
+        pending.flushed.completeExceptionally(failure);
+      } else {
+        pending.flushed.complete(null);
+      }
+    }
+  }
+
+  // An ordered insertMany that fails part-way has written a prefix of the
+  // batch; the IDs are client-assigned, so those notes are found by ID.
+  private List<Note> unwritten(List<Note> notes) {
+    Set<String> written = noteStore
+      .findViewsByIdIn(notes.stream().map(Note::getId).toList())
+      .stream()
+      .map(NoteView::getId)
+      .collect(Collectors.toSet());
+    return notes
+      .stream()
+      .filter(note -> !written.contains(note.getId()))
+      .toList();
+  }
+
+  /**
+   * An acknowledged note write.
+   */
+  public static final class Write {
+
+    private final Note note;
+    private final CompletableFuture<Void> flushed;
+
+    Write(Note note, CompletableFuture<Void> flushed) {
+      this.note = note;
+      this.flushed = flushed;
+    }
+
+    /**
+     * Returns the saved note, with its ID assigned.
+     */
+    public Note getNote() {
+      return note;
+    }
+
+    /**
+     * Runs an action once the note is written, at once if it already is.
+     *
+     * @param action the action to run
+     */
+    public void onSaved(Runnable action) {
+      flushed.whenComplete((ignored, failure) -> {
+        if (failure == null) {
+          action.run();
+        }
+      });
+    }
+
+    /**
+     * Runs an action if the note turns out not to be written after it was
+     * acknowledged, which only happens with {@code durability: enqueue}.
+     * Runs it at once if that is already known.
+     *
+     * @param action the action to run
+     */
+    public void onLost(Runnable action) {
+      flushed.whenComplete((ignored, failure) -> {
+        if (failure != null) {
+          action.run();
+        }
+      });
+    }
+  }
+
+  private static final class PendingNote {
+
+    private static final int QUEUED = 0;
+    private static final int CLAIMED = 1;
+    private static final int CANCELLED = 2;
+
+    final Note note;
+    final CompletableFuture<Void> flushed = new CompletableFuture<>();
+    private final AtomicInteger state = new AtomicInteger(QUEUED);
+
+    PendingNote(Note note) {
+      this.note = note;
+    }
+
+    /** Marks the note as being written, unless it was cancelled. */
+    boolean claim() {
+      return state.compareAndSet(QUEUED, CLAIMED);
+    }
+
+    /** Withdraws the note, unless it is already being written. */
+    boolean cancel() {
+      return state.compareAndSet(QUEUED, CANCELLED);
+    }
+  }
+}
@@ -0,0 +1,119 @@
+// src/main/java/com/echo/app/storage/LogSegment.java
+
+package com.echo.app.storage;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * One memory-mapped segment file of the note log. The file is mapped at its
+ * full size up front; records are appended at {@link #writePosition} and the
+ * zero-filled remainder marks the end of the data.
+ *
+ * <p>Segments are not thread-safe; {@link NoteLog} guards them.
+ */
+final class LogSegment {
+
+  private final int number;
+  private final MappedByteBuffer buffer;
+  private int writePosition;
+  private long deadBytes;
+
+  private LogSegment(int number, MappedByteBuffer buffer) {
+    this.number = number;
+    this.buffer = buffer;
+  }
+
+  /**
+   * Maps a segment file, creating or growing it to {@code size} bytes.
+   *
+   * @param number the segment number
+   * @param path   the file to map
+   * @param size   the minimum mapped size
+   * @return the mapped segment, with its write position at 0
+   * @throws IOException if the file cannot be opened or mapped
+   */
+  static LogSegment map(int number, Path path, int size) throws IOException {
+    try (
+      FileChannel channel = FileChannel.open(
+        path,
+        StandardOpenOption.CREATE,
+        StandardOpenOption.READ,
+        StandardOpenOption.WRITE
+      )
+    ) {
+      long mapped = Math.max(channel.size(), size);
+      // The mapping stays valid after the channel is closed.
+      return new LogSegment(
+        number,
+        channel.map(FileChannel.MapMode.READ_WRITE, 0, mapped)
+      );
+    }
+  }
+
+  int number() {
+    return number;
+  }
+
+  MappedByteBuffer buffer() {
+    return buffer;
+  }
+
+  int capacity() {
+    return buffer.capacity();
+  }
+
+  int writePosition() {
+    return writePosition;
+  }
+
+  void setWritePosition(int writePosition) {
+    this.writePosition = writePosition;
+  }
+
+  long deadBytes() {
+    return deadBytes;
+  }
+
+  void addDeadBytes(long bytes) {
+    deadBytes += bytes;
+  }
+
+  boolean hasRoom(int bytes) {
+    return writePosition + bytes <= buffer.capacity();
+  }
+
+  /**
+   * Appends an encoded record.
+   *
+   * @param record the record bytes
+   * @return the offset the record was written at
+   */
+  int append(byte[] record) {
+    int offset = writePosition;
+    buffer.put(offset, record);
+    writePosition += record.length;
+    return offset;
+  }
+
+  /** Zeroes everything from {@code offset} to the end of the segment. */
+  void truncate(int offset) {
+    byte[] zeros = new byte[8192];
+    for (int position = offset; position < buffer.capacity(); ) {
+      int length = Math.min(zeros.length, buffer.capacity() - position);
+      buffer.put(position, zeros, 0, length);
+      position += length;
+    }
+    writePosition = offset;
+  }
+
+  /** Forces the written range of the segment to storage. */
+  void force() {
+    if (writePosition > 0) {
+      buffer.force(0, writePosition);
+    }
+  }
+}
@@ -0,0 +1,228 @@
+// src/main/java/com/echo/app/storage/NoteCodec.java
+
+package com.echo.app.storage;
+
+import com.echo.app.model.Note;
+import com.echo.app.model.NoteMeta;
+import com.echo.app.model.NoteView;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary layout of log records.
+ *
+ * <p>Every record starts with a header of payload length, CRC32C and type,
+ * followed by the payload. A note payload holds the ID, createdAt in epoch
+ * milliseconds and the string fields, each prefixed by its UTF-8 length
+ * ({@code -1} for null), public fields first so that views stop decoding
+ * early. A tombstone payload holds only the ID. A zero length marks the
+ * unwritten tail of a segment.
+ */
+final class NoteCodec {
+
+  static final int HEADER_BYTES = 9;
+  static final byte NOTE = 1;
+  static final byte TOMBSTONE = 2;
+
+  private static final int LENGTH_OFFSET = 0;
+  private static final int CRC_OFFSET = 4;
+  private static final int TYPE_OFFSET = 8;
+  private static final long NO_TIME = Long.MIN_VALUE;
+
+  private NoteCodec() {}
+
+  /**
+   * Encodes a note record.
+   *
+   * @param note the note, with its ID assigned
+   * @return the encoded record including its header
+   */
+  static byte[] encodeNote(Note note) {
+    byte[] id = utf8(note.getId());
+    byte[] message = utf8(note.getMessage());
+    byte[] author = utf8(note.getAuthor());
+    byte[] ipHash = utf8(note.getIpHash());
+    NoteMeta meta = note.getMeta();
+    byte[] userAgent = meta != null ? utf8(meta.getUserAgent()) : null;
+    byte[] clientId = meta != null ? utf8(meta.getClientId()) : null;
+
+    int payload =
+      4 +
+      id.length +
+      8 +
+      sizeOf(message) +
+      sizeOf(author) +
+      sizeOf(ipHash) +
+      1 +
+      sizeOf(userAgent) +
+      sizeOf(clientId);
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + payload);
+    buffer.position(HEADER_BYTES);
+    putBytes(buffer, id);
+    buffer.putLong(timeOf(note.getCreatedAt()));
+    putBytes(buffer, message);
+    putBytes(buffer, author);
+    putBytes(buffer, ipHash);
+    buffer.put((byte) (meta != null ? 1 : 0));
+    putBytes(buffer, userAgent);
+    putBytes(buffer, clientId);
+    return seal(buffer, NOTE);
+  }
+
+  /**
+   * Encodes a tombstone for a deleted note.
+   *
+   * @param id the deleted note's ID
+   * @return the encoded record including its header
+   */
+  static byte[] encodeTombstone(String id) {
+    byte[] bytes = utf8(id);
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + 4 + bytes.length);
+    buffer.position(HEADER_BYTES);
+    putBytes(buffer, bytes);
+    return seal(buffer, TOMBSTONE);
+  }
+
+  /**
+   * Returns the total size of the record at {@code offset}, or 0 if the
+   * segment ends there. Does not validate the record.
+   */
+  static int recordSize(ByteBuffer segment, int offset) {
+    if (offset + HEADER_BYTES > segment.capacity()) {
+      return 0;
+    }
+    int length = segment.getInt(offset + LENGTH_OFFSET);
+    return length == 0 ? 0 : HEADER_BYTES + length;
+  }
+
+  /**
+   * Returns whether a complete, uncorrupted record starts at {@code offset}.
+   */
+  static boolean isValid(ByteBuffer segment, int offset) {
+    if (offset + HEADER_BYTES > segment.capacity()) {
+      return false;
+    }
+    int length = segment.getInt(offset + LENGTH_OFFSET);
+    if (length <= 0 || length > segment.capacity() - offset - HEADER_BYTES) {
+      return false;
+    }
+    byte type = segment.get(offset + TYPE_OFFSET);
+    if (type != NOTE && type != TOMBSTONE) {
+      return false;
+    }
+    return (
+      segment.getInt(offset + CRC_OFFSET) ==
+      crc(segment, offset + TYPE_OFFSET, length + 1)
+    );
+  }
+
+  static byte type(ByteBuffer segment, int offset) {
+    return segment.get(offset + TYPE_OFFSET);
+  }
+
+  static String id(ByteBuffer segment, int offset) {
+    int position = offset + HEADER_BYTES;
+    return getString(segment, position + 4, segment.getInt(position));
+  }
+
+  /** Returns createdAt in epoch milliseconds, or {@link Long#MIN_VALUE}. */
+  static long time(ByteBuffer segment, int offset) {
+    int position = offset + HEADER_BYTES;
+    return segment.getLong(position + 4 + segment.getInt(position));
+  }
+
+  static Note decodeNote(ByteBuffer segment, int offset) {
+    int position = offset + HEADER_BYTES;
+    int length = segment.getInt(position);
+    String id = getString(segment, position + 4, length);
+    position += 4 + length;
+    long time = segment.getLong(position);
+    position += 8;
+    length = segment.getInt(position);
+    String message = getString(segment, position + 4, length);
+    position += 4 + Math.max(length, 0);
+    length = segment.getInt(position);
+    String author = getString(segment, position + 4, length);
+    position += 4 + Math.max(length, 0);
+    length = segment.getInt(position);
+    String ipHash = getString(segment, position + 4, length);
+    position += 4 + Math.max(length, 0);
+    NoteMeta meta = null;
+    if (segment.get(position++) == 1) {
+      length = segment.getInt(position);
+      String userAgent = getString(segment, position + 4, length);
+      position += 4 + Math.max(length, 0);
+      length = segment.getInt(position);
+      meta = new NoteMeta(userAgent, getString(segment, position + 4, length));
+    }
+    Note note = new Note(message, author, instantOf(time), ipHash, meta);
+    note.setId(id);
+    return note;
+  }
+
+  static NoteView decodeView(ByteBuffer segment, int offset) {
+    int position = offset + HEADER_BYTES;
+    int length = segment.getInt(position);
+    String id = getString(segment, position + 4, length);
+    position += 4 + length;
+    long time = segment.getLong(position);
+    position += 8;
+    length = segment.getInt(position);
+    String message = getString(segment, position + 4, length);
+    position += 4 + Math.max(length, 0);
+    length = segment.getInt(position);
+    String author = getString(segment, position + 4, length);
+    return new NoteView(id, message, author, instantOf(time));
+  }
+
+  static long timeOf(Instant instant) {
+    return instant != null ? instant.toEpochMilli() : NO_TIME;
+  }
+
+  private static Instant instantOf(long time) {
+    return time == NO_TIME ? null : Instant.ofEpochMilli(time);
+  }
+
+  private static byte[] seal(ByteBuffer buffer, byte type) {
+    int length = buffer.capacity() - HEADER_BYTES;
+    buffer.putInt(LENGTH_OFFSET, length);
+    buffer.put(TYPE_OFFSET, type);
+    buffer.putInt(CRC_OFFSET, crc(buffer, TYPE_OFFSET, length + 1));
+    return buffer.array();
+  }
+
+  private static int crc(ByteBuffer buffer, int offset, int length) {
+    CRC32C crc = new CRC32C();
+    crc.update(buffer.slice(offset, length));
+    return (int) crc.getValue();
+  }
+
+  private static byte[] utf8(String value) {
+    return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+  }
+
+  private static int sizeOf(byte[] bytes) {
+    return 4 + (bytes != null ? bytes.length : 0);
+  }
+
+  private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+    if (bytes == null) {
+      buffer.putInt(-1);
+      return;
+    }
+    buffer.putInt(bytes.length);
+    buffer.put(bytes);
+  }
+
+  // Reads straight from the mapped segment, with no record-sized buffer.
+  private static String getString(ByteBuffer segment, int offset, int length) {
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    segment.get(offset, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
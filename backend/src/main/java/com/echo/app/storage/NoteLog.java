@@ -0,0 +1,782 @@
+// src/main/java/com/echo/app/storage/NoteLog.java
+
+package com.echo.app.storage;
+
+import com.echo.app.model.Note;
+import com.echo.app.model.NoteView;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only note store made of memory-mapped segment files.
+ *
+ * <p>Every write appends a CRC-checked record to the active segment; a
+ * full segment is sealed and a new one started. Deletes and overwrites
+ * append tombstones or new versions and leave the old records as garbage.
+ * Two in-memory indexes point into the mapped segments: a hash index from
+ * ID to location, and an array sorted by (createdAt, id) that serves
+ * offset pages and keyset ranges. Reads decode straight from the mapping.
+ *
+ * <p>On open, all segments are replayed in order to rebuild the indexes. A
+ * torn or corrupt record ends its segment, which is truncated there.
+ * {@link #compact} rewrites the sealed segments without their garbage;
+ * the rewrite is staged in {@code .compacted} files and committed by a
+ * marker file, so a crash at any point leaves either the old or the new
+ * segments in place.
+ */
+public final class NoteLog implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(NoteLog.class);
+
+  /** Reads stored notes in full. */
+  public static final Decoder<Note> NOTES = NoteCodec::decodeNote;
+
+  /** Reads only the public fields of stored notes. */
+  public static final Decoder<NoteView> VIEWS = NoteCodec::decodeView;
+
+  private static final String SEGMENT_SUFFIX = ".log";
+  private static final String COMPACTED_SUFFIX = ".log.compacted";
+  private static final Pattern SEGMENT_NAME = Pattern.compile(
+    "(\\d{10})\\.log"
+  );
+  private static final Pattern MARKER_NAME = Pattern.compile(
+    "compaction-(\\d+)-(\\d+)-(\\d+)"
+  );
+
+  private final Path directory;
+  private final int segmentBytes;
+  private final boolean syncOnWrite;
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private final ReentrantLock compactionLock = new ReentrantLock();
+  private final Map<String, Long> primary = new ConcurrentHashMap<>();
+  private final OrderedIndex ordered = new OrderedIndex();
+  private final TreeMap<Integer, LogSegment> segments = new TreeMap<>();
+  private LogSegment active;
+
+  private NoteLog(Path directory, int segmentBytes, boolean syncOnWrite) {
+    this.directory = directory;
+    this.segmentBytes = segmentBytes;
+    this.syncOnWrite = syncOnWrite;
+  }
+
+  /**
+   * Opens the log in a directory, creating it if needed, and recovers its
+   * indexes from the segment files.
+   *
+   * @param directory    the data directory
+   * @param segmentBytes the size of each segment file
+   * @param syncOnWrite  whether every write is forced to storage before it
+   *                     returns
+   * @return the opened log
+   * @throws IOException if the directory or a segment cannot be read
+   */
+  public static NoteLog open(
+    Path directory,
+    int segmentBytes,
+    boolean syncOnWrite
+  ) throws IOException {
+    NoteLog noteLog = new NoteLog(directory, segmentBytes, syncOnWrite);
+    noteLog.recover();
+    return noteLog;
+  }
+
+  /**
+   * Writes notes, replacing any stored notes with the same IDs.
+   *
+   * @param notes the notes to write, with their IDs assigned
+   */
+  public void put(List<Note> notes) {
+    write(notes, false);
+  }
+
+  /**
+   * Writes the notes whose IDs are not stored yet.
+   *
+   * @param notes the notes to write, with their IDs assigned
+   * @return the indexes in {@code notes} of the notes that were skipped
+   */
+  public Set<Integer> putIfAbsent(List<Note> notes) {
+    return write(notes, true);
+  }
+
+  /**
+   * Deletes a note.
+   *
+   * @param id the note ID
+   * @return whether the note existed
+   */
+  public boolean delete(String id) {
+    byte[] tombstone = NoteCodec.encodeTombstone(id);
+    lock.writeLock().lock();
+    try {
+      Long previous = primary.remove(id);
+      if (previous == null) {
+        return false;
+      }
+      unindex(id, previous);
+      append(tombstone).addDeadBytes(tombstone.length);
+      if (syncOnWrite) {
+        active.force();
+      }
+      return true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Reads a note by ID.
+   *
+   * @param id      the note ID
+   * @param decoder how to read the record
+   * @return the note, or empty if not stored
+   */
+  public <T> Optional<T> find(String id, Decoder<T> decoder) {
+    lock.readLock().lock();
+    try {
+      Long location = primary.get(id);
+      return location != null
+        ? Optional.of(decode(location, decoder))
+        : Optional.empty();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Reads a page of notes in (createdAt, id) order.
+   *
+   * @param offset     the number of notes to skip
+   * @param limit      the maximum number of notes to return
+   * @param descending whether to start from the newest note
+   * @param decoder    how to read each record
+   * @return the notes in order
+   */
+  public <T> List<T> page(
+    long offset,
+    int limit,
+    boolean descending,
+    Decoder<T> decoder
+  ) {
+    lock.readLock().lock();
+    try {
+      List<T> notes = new ArrayList<>(Math.min(limit, 1024));
+      if (offset >= ordered.size) {
+        return notes;
+      }
+      int start = (int) offset;
+      int end = (int) Math.min(ordered.size, offset + limit);
+      for (int i = start; i < end; i++) {
+        int position = descending ? ordered.size - 1 - i : i;
+        notes.add(decode(ordered.locations[position], decoder));
+      }
+      return notes;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Reads notes in (createdAt, id) order strictly after a key, optionally
+   * bounded by createdAt.
+   *
+   * @param from       the inclusive lower createdAt bound, or null
+   * @param to         the exclusive upper createdAt bound, or null
+   * @param createdAt  the createdAt of the last seen note
+   * @param id         the ID of the last seen note, or null to start from
+   *                   the beginning
+   * @param descending whether to read from newest to oldest
+   * @param limit      the maximum number of notes to return
+   * @param decoder    how to read each record
+   * @return the notes in order
+   */
+  public <T> List<T> scan(
+    Instant from,
+    Instant to,
+    Instant createdAt,
+    String id,
+    boolean descending,
+    int limit,
+    Decoder<T> decoder
+  ) {
+    lock.readLock().lock();
+    try {
+      int lower = from != null
+        ? ordered.lowerBound(NoteCodec.timeOf(from), "")
+        : 0;
+      int upper = to != null
+        ? ordered.lowerBound(NoteCodec.timeOf(to), "")
+        : ordered.size;
+      if (id != null) {
+        int key = ordered.lowerBound(NoteCodec.timeOf(createdAt), id);
+        if (descending) {
+          upper = Math.min(upper, key);
+        } else {
+          boolean found = key < ordered.size && ordered.matches(
+            key,
+            NoteCodec.timeOf(createdAt),
+            id
+          );
+          lower = Math.max(lower, found ? key + 1 : key);
+        }
+      }
+      List<T> notes = new ArrayList<>(Math.min(limit, 1024));
+      int count = Math.min(limit, Math.max(upper - lower, 0));
+      for (int i = 0; i < count; i++) {
+        int position = descending ? upper - 1 - i : lower + i;
+        notes.add(decode(ordered.locations[position], decoder));
+      }
+      return notes;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Returns whether a note is stored. */
+  public boolean contains(String id) {
+    return primary.containsKey(id);
+  }
+
+  /** Returns the number of stored notes. */
+  public int size() {
+    return primary.size();
+  }
+
+  /** Forces the active segment to storage. */
+  public void sync() {
+    lock.readLock().lock();
+    try {
+      active.force();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Rewrites all sealed segments without deleted and overwritten records,
+   * if enough of them is garbage. Copying runs without blocking readers or
+   * writers; only the final swap takes the write lock.
+   *
+   * @param minGarbageRatio the fraction of sealed bytes that must be
+   *                        garbage before compacting
+   * @return whether the segments were compacted
+   * @throws IOException if the compacted segments cannot be written
+   */
+  public boolean compact(double minGarbageRatio) throws IOException {
+    compactionLock.lock();
+    try {
+      List<LogSegment> sealed;
+      long totalBytes = 0;
+      long deadBytes = 0;
+      lock.readLock().lock();
+      try {
+        sealed = new ArrayList<>(
+          segments.headMap(active.number(), false).values()
+        );
+        for (LogSegment segment : sealed) {
+          totalBytes += segment.writePosition();
+          deadBytes += segment.deadBytes();
+        }
+      } finally {
+        lock.readLock().unlock();
+      }
+      if (
+        sealed.isEmpty() ||
+        deadBytes == 0 ||
+        deadBytes < totalBytes * minGarbageRatio
+      ) {
+        return false;
+      }
+
+      long started = System.nanoTime();
+      int first = sealed.get(0).number();
+      int last = sealed.get(sealed.size() - 1).number();
+      List<LogSegment> outputs = new ArrayList<>();
+      List<Move> moves = new ArrayList<>();
+      try {
+        copyLive(sealed, first, last, outputs, moves);
+      } catch (IOException | RuntimeException e) {
+        for (LogSegment output : outputs) {
+          Files.deleteIfExists(compactedPath(output.number()));
+        }
+        throw e;
+      }
+      for (LogSegment output : outputs) {
+        output.force();
+      }
+      Path marker = directory.resolve(
+        "compaction-" + first + "-" + last + "-" + outputs.size()
+      );
+      Files.write(marker, new byte[0]);
+      forceDirectory();
+
+      lock.writeLock().lock();
+      try {
+        for (Move move : moves) {
+          LogSegment output = outputs.get(
+            (int) (move.target >>> 32) - first
+          );
+          if (move.source.equals(primary.get(move.id))) {
+            primary.put(move.id, move.target);
+            ordered.relocate(
+              NoteCodec.time(output.buffer(), (int) move.target),
+              move.id,
+              move.target
+            );
+          } else {
+            output.addDeadBytes(move.size);
+          }
+        }
+        for (int number = first; number <= last; number++) {
+          segments.remove(number);
+        }
+        for (LogSegment output : outputs) {
+          segments.put(output.number(), output);
+        }
+      } finally {
+        lock.writeLock().unlock();
+      }
+      commitCompaction(first, last, outputs.size());
+      log.info(
+        "Compacted segments {}-{} into {} ({} of {} bytes were garbage) in {} ms",
+        first,
+        last,
+        outputs.size(),
+        deadBytes,
+        totalBytes,
+        (System.nanoTime() - started) / 1_000_000
+      );
+      return true;
+    } finally {
+      compactionLock.unlock();
+    }
+  }
+
+  @Override
+  public void close() {
+    sync();
+  }
+
+  private Set<Integer> write(List<Note> notes, boolean skipExisting) {
+    List<byte[]> records = new ArrayList<>(notes.size());
+    for (Note note : notes) {
+      byte[] record = NoteCodec.encodeNote(note);
+      if (record.length > segmentBytes) {
+        throw new IllegalArgumentException(
+          "Note " + note.getId() + " does not fit in a segment"
+        );
+      }
+      records.add(record);
+    }
+    Set<Integer> skipped = new HashSet<>();
+    lock.writeLock().lock();
+    try {
+      for (int i = 0; i < notes.size(); i++) {
+        String id = notes.get(i).getId();
+        if (skipExisting && primary.containsKey(id)) {
+          skipped.add(i);
+          continue;
+        }
+        byte[] record = records.get(i);
+        LogSegment segment = append(record);
+        long location = location(
+          segment.number(),
+          segment.writePosition() - record.length
+        );
+        Long previous = primary.put(id, location);
+        if (previous != null) {
+          unindex(id, previous);
+        }
+        ordered.insert(
+          NoteCodec.timeOf(notes.get(i).getCreatedAt()),
+          id,
+          location
+        );
+      }
+      if (syncOnWrite) {
+        active.force();
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+    return skipped;
+  }
+
+  // Must be called with the write lock held.
+  private LogSegment append(byte[] record) {
+    if (!active.hasRoom(record.length)) {
+      active.force();
+      try {
+        active = openSegment(active.number() + 1);
+      } catch (IOException e) {
+        throw new IllegalStateException("Failed to start a new segment", e);
+      }
+    }
+    active.append(record);
+    return active;
+  }
+
+  // Must be called with the write lock held; the record stays as garbage.
+  private void unindex(String id, long location) {
+    LogSegment segment = segments.get((int) (location >>> 32));
+    int offset = (int) location;
+    ordered.remove(NoteCodec.time(segment.buffer(), offset), id);
+    segment.addDeadBytes(NoteCodec.recordSize(segment.buffer(), offset));
+  }
+
+  private <T> T decode(long location, Decoder<T> decoder) {
+    LogSegment segment = segments.get((int) (location >>> 32));
+    return decoder.decode(segment.buffer(), (int) location);
+  }
+
+  private void recover() throws IOException {
+    long started = System.nanoTime();
+    Files.createDirectories(directory);
+    recoverCompactions();
+
+    List<Integer> numbers = new ArrayList<>();
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+      for (Path file : files) {
+        Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+        if (matcher.matches()) {
+          numbers.add(Integer.parseInt(matcher.group(1)));
+        }
+      }
+    }
+    numbers.sort(Comparator.naturalOrder());
+    for (int number : numbers) {
+      LogSegment segment = LogSegment.map(number, segmentPath(number), 0);
+      segments.put(number, segment);
+      replay(segment);
+    }
+    if (segments.isEmpty()) {
+      active = openSegment(1);
+    } else {
+      active = segments.lastEntry().getValue();
+    }
+
+    List<long[]> entries = new ArrayList<>(primary.size());
+    List<String> ids = new ArrayList<>(primary.size());
+    for (Map.Entry<String, Long> entry : primary.entrySet()) {
+      LogSegment segment = segments.get((int) (entry.getValue() >>> 32));
+      entries.add(
+        new long[] {
+          NoteCodec.time(segment.buffer(), (int) (long) entry.getValue()),
+          entry.getValue(),
+          ids.size(),
+        }
+      );
+      ids.add(entry.getKey());
+    }
+    entries.sort((a, b) -> {
+      int byTime = Long.compare(a[0], b[0]);
+      return byTime != 0
+        ? byTime
+        : ids.get((int) a[2]).compareTo(ids.get((int) b[2]));
+    });
+    ordered.load(entries, ids);
+    log.info(
+      "Recovered {} notes from {} segments in {} ms",
+      primary.size(),
+      segments.size(),
+      (System.nanoTime() - started) / 1_000_000
+    );
+  }
+
+  private void replay(LogSegment segment) {
+    ByteBuffer buffer = segment.buffer();
+    int offset = 0;
+    while (true) {
+      int size = NoteCodec.recordSize(buffer, offset);
+      if (size == 0) {
+        segment.setWritePosition(offset);
+        return;
+      }
+      if (!NoteCodec.isValid(buffer, offset)) {
+        log.warn(
+          "Truncating segment {} at offset {} after a torn or corrupt record",
+          segment.number(),
+          offset
+        );
+        segment.truncate(offset);
+        return;
+      }
+      String id = NoteCodec.id(buffer, offset);
+      long location = location(segment.number(), offset);
+      Long previous;
+      if (NoteCodec.type(buffer, offset) == NoteCodec.NOTE) {
+        previous = primary.put(id, location);
+      } else {
+        previous = primary.remove(id);
+        segment.addDeadBytes(size);
+      }
+      if (previous != null) {
+        LogSegment old = segments.get((int) (previous >>> 32));
+        int previousOffset = (int) (long) previous;
+        old.addDeadBytes(NoteCodec.recordSize(old.buffer(), previousOffset));
+      }
+      offset += size;
+    }
+  }
+
+  private void copyLive(
+    List<LogSegment> sealed,
+    int first,
+    int last,
+    List<LogSegment> outputs,
+    List<Move> moves
+  ) throws IOException {
+    LogSegment output = null;
+    for (LogSegment segment : sealed) {
+      ByteBuffer buffer = segment.buffer();
+      for (int offset = 0; offset < segment.writePosition(); ) {
+        int size = NoteCodec.recordSize(buffer, offset);
+        if (NoteCodec.type(buffer, offset) == NoteCodec.NOTE) {
+          String id = NoteCodec.id(buffer, offset);
+          long source = location(segment.number(), offset);
+          if (Long.valueOf(source).equals(primary.get(id))) {
+            if (output == null || !output.hasRoom(size)) {
+              int number = first + outputs.size();
+              if (number > last) {
+                throw new IllegalStateException(
+                  "Compacted data does not fit in the original segments"
+                );
+              }
+              output = LogSegment.map(
+                number,
+                compactedPath(number),
+                segmentBytes
+              );
+              outputs.add(output);
+            }
+            byte[] record = new byte[size];
+            buffer.get(offset, record);
+            int target = output.append(record);
+            moves.add(
+              new Move(id, source, location(output.number(), target), size)
+            );
+          }
+        }
+        offset += size;
+      }
+    }
+  }
+
+  private void recoverCompactions() throws IOException {
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+      for (Path file : files) {
+        Matcher matcher = MARKER_NAME.matcher(file.getFileName().toString());
+        if (matcher.matches()) {
+          log.info("Completing interrupted compaction {}", file.getFileName());
+          commitCompaction(
+            Integer.parseInt(matcher.group(1)),
+            Integer.parseInt(matcher.group(2)),
+            Integer.parseInt(matcher.group(3))
+          );
+        }
+      }
+    }
+    try (
+      DirectoryStream<Path> files = Files.newDirectoryStream(
+        directory,
+        "*" + COMPACTED_SUFFIX
+      )
+    ) {
+      for (Path file : files) {
+        log.info("Discarding unfinished compaction output {}", file);
+        Files.delete(file);
+      }
+    }
+  }
+
+  // Idempotent, so recovery can rerun it after a crash part-way through.
+  private void commitCompaction(int first, int last, int outputs)
+    throws IOException {
+    for (int number = first; number <= last; number++) {
+      Path compacted = compactedPath(number);
+      if (number < first + outputs) {
+        if (Files.exists(compacted)) {
+          Files.move(
+            compacted,
+            segmentPath(number),
+            StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE
+          );
+        }
+      } else {
+        Files.deleteIfExists(segmentPath(number));
+      }
+    }
+    forceDirectory();
+    Files.deleteIfExists(
+      directory.resolve("compaction-" + first + "-" + last + "-" + outputs)
+    );
+  }
+
+  private LogSegment openSegment(int number) throws IOException {
+    LogSegment segment = LogSegment.map(
+      number,
+      segmentPath(number),
+      segmentBytes
+    );
+    segments.put(number, segment);
+    return segment;
+  }
+
+  private void forceDirectory() {
+    try (
+      FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)
+    ) {
+      channel.force(true);
+    } catch (IOException e) {
+      // Not every platform can sync a directory; renames are still atomic.
+      log.debug("Could not sync {}: {}", directory, e.getMessage());
+    }
+  }
+
+  private Path segmentPath(int number) {
+    return directory.resolve(String.format("%010d", number) + SEGMENT_SUFFIX);
+  }
+
+  private Path compactedPath(int number) {
+    return directory.resolve(String.format("%010d", number) + COMPACTED_SUFFIX);
+  }
+
+  private static long location(int segment, int offset) {
+    return ((long) segment << 32) | (offset & 0xffffffffL);
+  }
+
+  /**
+   * Reads a value from the record at an offset of a mapped segment.
+   */
+  @FunctionalInterface
+  public interface Decoder<T> {
+    T decode(ByteBuffer segment, int offset);
+  }
+
+  private static final class Move {
+
+    final String id;
+    final Long source;
+    final long target;
+    final int size;
+
+    Move(String id, long source, long target, int size) {
+      this.id = id;
+      this.source = source;
+      this.target = target;
+      this.size = size;
+    }
+  }
+
+  /**
+   * Locations sorted by (createdAt, id) in parallel arrays. Notes mostly
+   * arrive in createdAt order, so inserts are usually appends.
+   */
+  private static final class OrderedIndex {
+
+    long[] times = new long[1024];
+    String[] ids = new String[1024];
+    long[] locations = new long[1024];
+    int size;
+
+    void load(List<long[]> entries, List<String> entryIds) {
+      int capacity = Math.max(1024, Integer.highestOneBit(entries.size()) * 2);
+      times = new long[capacity];
+      ids = new String[capacity];
+      locations = new long[capacity];
+      for (long[] entry : entries) {
+        times[size] = entry[0];
+        locations[size] = entry[1];
+        ids[size] = entryIds.get((int) entry[2]);
+        size++;
+      }
+    }
+
+    /** Returns the first position whose key is at least (time, id). */
+    int lowerBound(long time, String id) {
+      int low = 0;
+      int high = size;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (compare(middle, time, id) < 0) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      return low;
+    }
+
+    boolean matches(int position, long time, String id) {
+      return times[position] == time && ids[position].equals(id);
+    }
+
+    void insert(long time, String id, long location) {
+      int position = size == 0 || compare(size - 1, time, id) < 0
+        ? size
+        : lowerBound(time, id);
+      if (size == times.length) {
+        times = Arrays.copyOf(times, size * 2);
+        ids = Arrays.copyOf(ids, size * 2);
+        locations = Arrays.copyOf(locations, size * 2);
+      }
+      int moved = size - position;
+      System.arraycopy(times, position, times, position + 1, moved);
+      System.arraycopy(ids, position, ids, position + 1, moved);
+      System.arraycopy(locations, position, locations, position + 1, moved);
+      times[position] = time;
+      ids[position] = id;
+      locations[position] = location;
+      size++;
+    }
+
+    void remove(long time, String id) {
+      int position = lowerBound(time, id);
+      if (position == size || !matches(position, time, id)) {
+        return;
+      }
+      int moved = size - position - 1;
+      System.arraycopy(times, position + 1, times, position, moved);
+      System.arraycopy(ids, position + 1, ids, position, moved);
+      System.arraycopy(locations, position + 1, locations, position, moved);
+      size--;
+      ids[size] = null;
+    }
+
+    void relocate(long time, String id, long location) {
+      int position = lowerBound(time, id);
+      if (position < size && matches(position, time, id)) {
+        locations[position] = location;
+      }
+    }
+
+    private int compare(int position, long time, String id) {
+      int byTime = Long.compare(times[position], time);
+      return byTime != 0 ? byTime : ids[position].compareTo(id);
+    }
+  }
+}
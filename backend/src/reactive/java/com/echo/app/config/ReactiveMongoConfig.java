@@ -0,0 +1,42 @@
+// src/reactive/java/com/echo/app/config/ReactiveMongoConfig.java
+
+package com.echo.app.config;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.mongo.MongoConnectionDetails;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * MongoDB client configuration for the reactive stack.
+ *
+ * <p>Requests are served by the reactive client, which
+ * {@link MongoConfig} sizes. The blocking client only backs archive reads,
+ * count refreshes and background jobs here, so it is built with its own
+ * small pool rather than a second copy of the request pool.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveMongoConfig {
+
+  @Bean(destroyMethod = "close")
+  public MongoClient blockingMongoClient(
+    MongoConnectionDetails connectionDetails,
+    @Value("${echo.mongo.blocking-pool-size:10}") int poolSize,
+    @Value("${echo.mongo.max-wait-ms:2000}") long maxWaitMs
+  ) {
+    return MongoClients.create(
+      MongoClientSettings.builder()
+        .applyConnectionString(connectionDetails.getConnectionString())
+        .applyToConnectionPoolSettings(pool ->
+          pool.maxSize(poolSize).maxWaitTime(maxWaitMs, TimeUnit.MILLISECONDS)
+        )
+        .build()
+    );
+  }
+}
@@ -0,0 +1,44 @@
+// src/reactive/java/com/echo/app/config/ReactiveWebConfig.java
+
+package com.echo.app.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.web.reactive.config.CorsRegistry;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * Web configuration for the reactive stack (the {@code reactive} profile):
+ * CORS and a Netty server.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+  @Value("${echo.cors-origins}")
+  private String corsOrigins;
+
+  @Override
+  public void addCorsMappings(@NonNull CorsRegistry registry) {
+    String[] origins = corsOrigins.split(",");
+    registry
+      .addMapping("/api/**")
+      .allowedOrigins(origins)
+      .allowedMethods("GET", "POST", "OPTIONS")
+      .allowedHeaders("*")
+      .maxAge(3600);
+  }
+
+  /**
+   * Serves the reactive stack from Netty's event loop rather than from the
+   * Tomcat servlet container that is also on the classpath.
+   */
+  @Bean
+  public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+    return new NettyReactiveWebServerFactory();
+  }
+}
@@ -0,0 +1,106 @@
+// src/reactive/java/com/echo/app/controller/ReactiveNoteController.java
+
+package com.echo.app.controller;
+
+import com.echo.app.dto.CreateNoteRequest;
+import com.echo.app.dto.NoteResponse;
+import com.echo.app.dto.PagedResponse;
+import com.echo.app.service.ReactiveNoteService;
+import jakarta.validation.Valid;
+import java.net.InetSocketAddress;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive REST controller for note operations, active when the application
+ * runs on the reactive web stack.
+ */
+@RestController
+@RequestMapping("/api/v1/notes")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveNoteController {
+
+  private final ReactiveNoteService noteService;
+
+  public ReactiveNoteController(ReactiveNoteService noteService) {
+    this.noteService = noteService;
+  }
+
+  /**
+   * Lists notes with pagination.
+   *
+   * @param page the page number (default 0)
+   * @param size the page size (default 20, max 100)
+   * @param sort the sort field and direction (e.g., "createdAt,desc")
+   * @return paginated list of notes
+   */
+  @GetMapping
+  public Mono<PagedResponse<NoteResponse>> listNotes(
+    @RequestParam(defaultValue = "0") int page,
+    @RequestParam(defaultValue = "20") int size,
+    @RequestParam(defaultValue = "createdAt,desc") String sort
+  ) {
+    String[] sortParts = sort.split(",");
+    String sortField = sortParts[0];
+    String sortDirection = sortParts.length > 1 ? sortParts[1] : "desc";
+
+    return noteService.getNotes(page, size, sortField, sortDirection);
+  }
+
+  /**
+   * Creates a new note.
+   *
+   * @param request     the create note request
+   * @param httpRequest the HTTP request for extracting client info
+   * @return the created note
+   */
+  @PostMapping
+  public Mono<ResponseEntity<NoteResponse>> createNote(
+    @Valid @RequestBody CreateNoteRequest request,
+    ServerHttpRequest httpRequest
+  ) {
+    String clientIp = getClientIp(httpRequest);
+    String userAgent = httpRequest.getHeaders().getFirst("User-Agent");
+
+    return noteService
+      .createNote(request, clientIp, userAgent)
+      .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+  }
+
+  /**
+   * Gets a single note by ID.
+   *
+   * @param id the note ID
+   * @return the note if found
+   */
+  @GetMapping("/{id}")
+  public Mono<ResponseEntity<NoteResponse>> getNoteById(
+    @PathVariable String id
+  ) {
+    return noteService
+      .getNoteById(id)
+      .map(ResponseEntity::ok)
+      .defaultIfEmpty(ResponseEntity.notFound().build());
+  }
+
+  private String getClientIp(ServerHttpRequest request) {
+    String xForwardedFor = request.getHeaders().getFirst("X-Forwarded-For");
+    if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
+      return xForwardedFor.split(",")[0].trim();
+    }
+    InetSocketAddress remoteAddress = request.getRemoteAddress();
+    return remoteAddress != null
+      ? remoteAddress.getAddress().getHostAddress()
+      : "unknown";
+  }
+}
@@ -0,0 +1,158 @@
+// src/reactive/java/com/echo/app/exception/ReactiveExceptionHandler.java
+
+package com.echo.app.exception;
+
+import com.echo.app.service.NoteMetrics;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+/**
+ * Reactive counterpart of {@link GlobalExceptionHandler}, producing the same
+ * error responses on the reactive web stack.
+ */
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+
+  private final NoteMetrics noteMetrics;
+
+  public ReactiveExceptionHandler(NoteMetrics noteMetrics) {
+    this.noteMetrics = noteMetrics;
+  }
+
+  @ExceptionHandler(WebExchangeBindException.class)
+  public ResponseEntity<Map<String, Object>> handleValidationException(
+    WebExchangeBindException ex,
+    ServerHttpRequest request
+  ) {
+    noteMetrics.validationFailures().increment();
+    String message = ex
+      .getBindingResult()
+      .getFieldErrors()
+      .stream()
+      .map(error -> error.getField() + " " + error.getDefaultMessage())
+      .collect(Collectors.joining(", "));
+
+    return buildErrorResponse(
+      HttpStatus.BAD_REQUEST,
+      "Validation failed: " + message,
+      request
+    );
+  }
+
+  /**
+   * Handles unreadable bodies, mistyped parameters and missing parameters,
+   * which WebFlux all reports as {@link ServerWebInputException}. The first
+   * two get the servlet stack's messages; anything else keeps its reason.
+   */
+  @ExceptionHandler(ServerWebInputException.class)
+  public ResponseEntity<Map<String, Object>> handleInvalidInput(
+    ServerWebInputException ex,
+    ServerHttpRequest request
+  ) {
+    String message;
+    MethodParameter parameter = ex.getMethodParameter();
+    if (ex.getCause() instanceof DecodingException) {
+      message = "Invalid JSON format";
+    } else if (
+      ex.getCause() instanceof TypeMismatchException && parameter != null
+    ) {
+      message =
+        "Invalid value for parameter '" + parameter.getParameterName() + "'";
+    } else {
+      message = ex.getReason() != null ? ex.getReason() : "Invalid request";
+    }
+    return buildErrorResponse(HttpStatus.BAD_REQUEST, message, request);
+  }
+
+  @ExceptionHandler(InvalidCursorException.class)
+  public ResponseEntity<Map<String, Object>> handleInvalidCursor(
+    InvalidCursorException ex,
+    ServerHttpRequest request
+  ) {
+    return buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), request);
+  }
+
+  @ExceptionHandler(InvalidSortException.class)
+  public ResponseEntity<Map<String, Object>> handleInvalidSort(
+    InvalidSortException ex,
+    ServerHttpRequest request
+  ) {
+    return buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), request);
+  }
+
+  @ExceptionHandler(DuplicateNoteException.class)
+  public ResponseEntity<Map<String, Object>> handleDuplicateNote(
+    DuplicateNoteException ex,
+    ServerHttpRequest request
+  ) {
+    return buildErrorResponse(HttpStatus.CONFLICT, ex.getMessage(), request);
+  }
+
+  @ExceptionHandler(RateLimitExceededException.class)
+  public ResponseEntity<Map<String, Object>> handleRateLimitExceeded(
+    RateLimitExceededException ex,
+    ServerHttpRequest request
+  ) {
+    noteMetrics.rateLimited().increment();
+    return buildErrorResponse(
+      HttpStatus.TOO_MANY_REQUESTS,
+      ex.getMessage(),
+      request
+    );
+  }
+
+  @ExceptionHandler(DataAccessResourceFailureException.class)
+  public ResponseEntity<Map<String, Object>> handleDatabaseUnavailable(
+    DataAccessResourceFailureException ex,
+    ServerHttpRequest request
+  ) {
+    ResponseEntity<Map<String, Object>> response = buildErrorResponse(
+      HttpStatus.SERVICE_UNAVAILABLE,
+      "Service temporarily unavailable. Please try again later.",
+      request
+    );
+    return ResponseEntity.status(response.getStatusCode())
+      .header(HttpHeaders.RETRY_AFTER, "1")
+      .body(response.getBody());
+  }
+
+  @ExceptionHandler(Exception.class)
+  public ResponseEntity<Map<String, Object>> handleGenericException(
+    Exception ex,
+    ServerHttpRequest request
+  ) {
+    return buildErrorResponse(
+      HttpStatus.INTERNAL_SERVER_ERROR,
+      "An unexpected error occurred",
+      request
+    );
+  }
+
+  private ResponseEntity<Map<String, Object>> buildErrorResponse(
+    HttpStatus status,
+    String message,
+    ServerHttpRequest request
+  ) {
+    return ResponseEntity.status(status).body(
+      GlobalExceptionHandler.errorBody(
+        status,
+        message,
+        request.getPath().value()
+      )
+    );
+  }
+}
@@ -0,0 +1,25 @@
+// src/reactive/java/com/echo/app/repository/ReactiveNoteRepository.java
+
+package com.echo.app.repository;
+
+import com.echo.app.model.Note;
+import com.echo.app.model.NoteView;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link NoteRepository}, used by the reactive web
+ * stack.
+ */
+@Repository
+public interface ReactiveNoteRepository
+  extends ReactiveMongoRepository<Note, String>, ReactiveNoteRepositoryCustom {
+  /**
+   * Finds the view of a single note.
+   *
+   * @param id the note ID
+   * @return the note view, or empty if not found
+   */
+  Mono<NoteView> findViewById(String id);
+}
@@ -0,0 +1,22 @@
+// src/reactive/java/com/echo/app/repository/ReactiveNoteRepositoryCustom.java
+
+package com.echo.app.repository;
+
+import com.echo.app.model.NoteView;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+
+/**
+ * Custom query fragment for {@link ReactiveNoteRepository}.
+ */
+public interface ReactiveNoteRepositoryCustom {
+  /**
+   * Finds a range of note views without issuing a count query.
+   *
+   * @param offset the number of notes to skip
+   * @param limit  the maximum number of notes to return
+   * @param sort   the sort order
+   * @return views of the notes in the range
+   */
+  Flux<NoteView> findRange(long offset, int limit, Sort sort);
+}
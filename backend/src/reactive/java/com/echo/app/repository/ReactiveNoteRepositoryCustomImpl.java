@@ -0,0 +1,33 @@
+// src/reactive/java/com/echo/app/repository/ReactiveNoteRepositoryCustomImpl.java
+
+package com.echo.app.repository;
+
+import com.echo.app.model.Note;
+import com.echo.app.model.NoteView;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+
+/**
+ * ReactiveMongoTemplate-backed implementation of
+ * {@link ReactiveNoteRepositoryCustom}.
+ */
+class ReactiveNoteRepositoryCustomImpl implements ReactiveNoteRepositoryCustom {
+
+  private final ReactiveMongoTemplate mongoTemplate;
+
+  ReactiveNoteRepositoryCustomImpl(ReactiveMongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  @Override
+  public Flux<NoteView> findRange(long offset, int limit, Sort sort) {
+    Query query = new Query().with(sort).skip(offset).limit(limit);
+    return mongoTemplate
+      .query(Note.class)
+      .as(NoteView.class)
+      .matching(query)
+      .all();
+  }
+}
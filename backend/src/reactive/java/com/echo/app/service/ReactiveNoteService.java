@@ -0,0 +1,269 @@
+// src/reactive/java/com/echo/app/service/ReactiveNoteService.java
+
+package com.echo.app.service;
+
+import com.echo.app.dto.CreateNoteRequest;
+import com.echo.app.dto.NoteResponse;
+import com.echo.app.dto.PagedResponse;
+import com.echo.app.exception.DuplicateNoteException;
+import com.echo.app.exception.RateLimitExceededException;
+import com.echo.app.model.Note;
+import com.echo.app.model.NoteView;
+import com.echo.app.repository.NoteArchive;
+import com.echo.app.repository.ReactiveNoteRepository;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Non-blocking note operations for the reactive web stack. Mirrors
+ * {@link NoteService}: same sanitization, rate limiting, and page semantics.
+ *
+ * <p>Listings and lookups by ID fall through to the {@link NoteArchive} like
+ * on the servlet stack. The archive is read with the blocking driver, so
+ * those reads run on the bounded elastic scheduler.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveNoteService {
+
+  private static final Logger log = LoggerFactory.getLogger(
+    ReactiveNoteService.class
+  );
+
+  private final ReactiveNoteRepository noteRepository;
+  private final RateLimitService rateLimitService;
+  private final NoteCountService noteCountService;
+  private final NoteFactory noteFactory;
+  private final IpHasher ipHasher;
+  private final NoteDeduplicator noteDeduplicator;
+  private final NoteMetrics noteMetrics;
+  // Absent with the embedded store.
+  private final NoteArchive noteArchive;
+
+  public ReactiveNoteService(
+    ReactiveNoteRepository noteRepository,
+    RateLimitService rateLimitService,
+    NoteCountService noteCountService,
+    NoteFactory noteFactory,
+    IpHasher ipHasher,
+    NoteDeduplicator noteDeduplicator,
+    NoteMetrics noteMetrics,
+    Optional<NoteArchive> noteArchive
+  ) {
+    this.noteRepository = noteRepository;
+    this.rateLimitService = rateLimitService;
+    this.noteCountService = noteCountService;
+    this.noteFactory = noteFactory;
+    this.ipHasher = ipHasher;
+    this.noteDeduplicator = noteDeduplicator;
+    this.noteMetrics = noteMetrics;
+    this.noteArchive = noteArchive.orElse(null);
+  }
+
+  /**
+   * Retrieves a paginated list of notes.
+   *
+   * @param page          the page number (0-indexed)
+   * @param size          the page size (max 100)
+   * @param sortField     the field to sort by
+   * @param sortDirection the sort direction (asc/desc)
+   * @return paginated response of notes
+   */
+  public Mono<PagedResponse<NoteResponse>> getNotes(
+    int page,
+    int size,
+    String sortField,
+    String sortDirection
+  ) {
+    int clampedSize = Math.min(Math.max(size, 1), 100);
+    Sort.Direction direction = "asc".equalsIgnoreCase(sortDirection)
+      ? Sort.Direction.ASC
+      : Sort.Direction.DESC;
+    Sort sort = NoteService.listingSort(sortField, direction);
+
+    Mono<Long> approximateTotal = Mono.fromCallable(() ->
+      noteMetrics.count().record(noteCountService::getApproximateTotal)
+    ).subscribeOn(Schedulers.boundedElastic());
+
+    Mono<List<NoteView>> views = Mono.defer(() -> {
+      Timer.Sample fetch = Timer.start();
+      // Fetch one extra note to learn whether a next page exists.
+      return findRange((long) page * clampedSize, clampedSize + 1, sort)
+        .doOnSuccess(result -> fetch.stop(noteMetrics.fetch()));
+    });
+
+    return views
+      .zipWith(approximateTotal)
+      .map(result -> {
+        List<NoteResponse> notes = noteMetrics
+          .map()
+          .record(() ->
+            result.getT1().stream().map(NoteResponse::fromView).toList()
+          );
+        boolean hasNext = notes.size() > clampedSize;
+        List<NoteResponse> items = hasNext
+          ? notes.subList(0, clampedSize)
+          : notes;
+        long totalItems = NoteCountService.reconcileTotal(
+          result.getT2(),
+          page,
+          clampedSize,
+          items.size(),
+          hasNext
+        );
+        int totalPages = (int) ((totalItems + clampedSize - 1) / clampedSize);
+        return new PagedResponse<>(
+          page,
+          clampedSize,
+          totalPages,
+          totalItems,
+          items
+        );
+      });
+  }
+
+  /**
+   * Creates a new note with sanitization and rate limiting.
+   *
+   * @param request   the create note request
+   * @param clientIp  the client IP address
+   * @param userAgent the client user agent
+   * @return the created note response, or an error signal with
+   *         {@link RateLimitExceededException} if rate limit is exceeded or
+   *         {@link DuplicateNoteException} if the message repeats a recent
+   *         note
+   */
+  public Mono<NoteResponse> createNote(
+    CreateNoteRequest request,
+    String clientIp,
+    String userAgent
+  ) {
+    String ipHash = noteMetrics.hash().record(() -> ipHasher.hash(clientIp));
+
+    // The rate limiter may call MongoDB synchronously, so keep it off the
+    // event loop.
+    return Mono.fromCallable(() ->
+      noteMetrics.rateLimit().record(() -> rateLimitService.tryConsume(ipHash))
+    )
+      .subscribeOn(Schedulers.boundedElastic())
+      .flatMap(allowed -> {
+        if (!allowed) {
+          log.warn("Rate limit exceeded for ipHash: {}", ipHash);
+          return Mono.error(
+            new RateLimitExceededException(
+              "Rate limit exceeded. Please try again later."
+            )
+          );
+        }
+        NoteDeduplicator.Fingerprint fingerprint = noteMetrics
+          .dedup()
+          .record(() -> noteDeduplicator.check(request.getMessage()));
+        Note note;
+        try {
+          note = noteMetrics
+            .sanitize()
+            .record(() -> noteFactory.newNote(request, ipHash, userAgent));
+        } catch (RuntimeException e) {
+          noteDeduplicator.release(fingerprint);
+          throw e;
+        }
+        Timer.Sample save = Timer.start();
+        return noteRepository
+          .save(note)
+          .doOnSuccess(saved -> {
+            save.stop(noteMetrics.save());
+            noteDeduplicator.record(fingerprint);
+          })
+          .doOnError(error -> noteDeduplicator.release(fingerprint))
+          .doOnCancel(() -> noteDeduplicator.release(fingerprint));
+      })
+      .doOnNext(saved -> {
+        noteCountService.increment(1);
+        log.info("Created note with id: {}", saved.getId());
+      })
+      .map(NoteResponse::fromEntity);
+  }
+
+  /**
+   * Retrieves a single note by ID.
+   *
+   * @param id the note ID
+   * @return the note, or empty if not found
+   */
+  public Mono<NoteResponse> getNoteById(String id) {
+    Mono<NoteView> view = noteRepository.findViewById(id);
+    if (noteArchive != null) {
+      view = view.switchIfEmpty(
+        blocking(() -> noteArchive.findViewById(id)).flatMap(Mono::justOrEmpty)
+      );
+    }
+    return view.map(NoteResponse::fromView);
+  }
+
+  // Same order as NoteService: the archive follows the hot collection
+  // newest first and precedes it oldest first.
+  private Mono<List<NoteView>> findRange(long offset, int limit, Sort sort) {
+    Mono<List<NoteView>> hot = noteRepository
+      .findRange(offset, limit, sort)
+      .collectList();
+    if (noteArchive == null) {
+      return hot;
+    }
+    Sort.Order order = sort.getOrderFor("createdAt");
+    Sort.Direction direction = order != null
+      ? order.getDirection()
+      : Sort.Direction.DESC;
+    if (direction.isDescending()) {
+      return hot.flatMap(views -> {
+        if (views.size() >= limit) {
+          return Mono.just(views);
+        }
+        Mono<Long> archiveOffset = views.isEmpty()
+          ? noteRepository.count().map(count -> Math.max(offset - count, 0))
+          : Mono.just(0L);
+        return archiveOffset
+          .flatMap(archived ->
+            blocking(() ->
+              noteArchive.findRange(archived, limit - views.size(), direction)
+            )
+          )
+          .map(archived -> concat(views, archived));
+      });
+    }
+    long archived = noteArchive.count();
+    Mono<List<NoteView>> older = offset < archived
+      ? blocking(() -> noteArchive.findRange(offset, limit, direction))
+      : Mono.just(List.of());
+    return older.flatMap(views -> {
+      if (views.size() >= limit) {
+        return Mono.just(views);
+      }
+      long hotOffset = views.isEmpty() ? Math.max(offset - archived, 0) : 0;
+      return noteRepository
+        .findRange(hotOffset, limit - views.size(), sort)
+        .collectList()
+        .map(newer -> concat(views, newer));
+    });
+  }
+
+  private static <T> Mono<T> blocking(Callable<T> call) {
+    return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+  }
+
+  private static List<NoteView> concat(List<NoteView> a, List<NoteView> b) {
+    List<NoteView> views = new ArrayList<>(a.size() + b.size());
+    views.addAll(a);
+    views.addAll(b);
+    return views;
+  }
+}
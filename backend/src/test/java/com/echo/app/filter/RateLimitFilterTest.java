@@ -0,0 +1,69 @@
+// src/test/java/com/echo/app/filter/RateLimitFilterTest.java
+
+package com.echo.app.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.echo.app.service.InMemoryRateLimitService;
+import com.echo.app.service.IpHasher;
+import com.echo.app.service.NoteMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RateLimitFilterTest {
+
+  private RateLimitFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    filter = new RateLimitFilter(
+      new InMemoryRateLimitService(1, 1000, meterRegistry),
+      new IpHasher("test-salt", 0, meterRegistry),
+      new NoteMetrics(meterRegistry),
+      request -> null
+    );
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+    strings = {
+      "/api/v1/notes",
+      "/api/v1/notes;x=1",
+      "/api/v1/%6Eotes",
+      "/api/v1//notes",
+      "/api/v1/notes;jsessionid=abc",
+    }
+  )
+  void limitsEveryPathThatRoutesToCreate(String uri) throws Exception {
+    MockHttpServletResponse first = post(uri, "10.0.0.1");
+    MockHttpServletResponse second = post(uri, "10.0.0.1");
+
+    assertThat(first.getStatus()).isEqualTo(200);
+    assertThat(first.getHeader("X-RateLimit-Limit")).isEqualTo("1");
+    assertThat(second.getStatus()).isEqualTo(429);
+    assertThat(second.getHeader("Retry-After")).isNotNull();
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = { "/api/v1/notes/batch", "/api/v1/notes/search" })
+  void ignoresOtherPaths(String uri) throws Exception {
+    assertThat(post(uri, "10.1.0.1").getStatus()).isEqualTo(200);
+    assertThat(post(uri, "10.1.0.1").getStatus()).isEqualTo(200);
+  }
+
+  private MockHttpServletResponse post(String uri, String ip)
+    throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+    request.addHeader("X-Forwarded-For", ip);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(request, response, new MockFilterChain());
+    return response;
+  }
+}
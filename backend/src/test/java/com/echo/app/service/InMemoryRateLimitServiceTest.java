@@ -0,0 +1,65 @@
+// src/test/java/com/echo/app/service/InMemoryRateLimitServiceTest.java
+
+package com.echo.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InMemoryRateLimitServiceTest {
+
+  private static final long MAX_KEYS = 10_000;
+  private static final int KEYS = 2_000_000;
+
+  private MeterRegistry meterRegistry;
+  private InMemoryRateLimitService service;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    service = new InMemoryRateLimitService(2, MAX_KEYS, meterRegistry);
+  }
+
+  @Test
+  void staysBoundedUnderAFloodOfUniqueKeys() {
+    for (int i = 0; i < KEYS; i++) {
+      service.tryConsumeAndReturnRemaining("client-" + i);
+    }
+
+    long size = service.estimatedSize();
+    assertThat(size).isLessThanOrEqualTo(MAX_KEYS);
+    assertThat(evictions()).isGreaterThanOrEqualTo(KEYS - MAX_KEYS);
+    assertThat(gauge("cache.size")).isEqualTo(size);
+  }
+
+  @Test
+  void limitsEachKeyIndependently() {
+    assertThat(consume("a")).isTrue();
+    assertThat(consume("a")).isTrue();
+    assertThat(consume("a")).isFalse();
+    assertThat(consume("b")).isTrue();
+  }
+
+  private boolean consume(String key) {
+    return service.tryConsumeAndReturnRemaining(key).isConsumed();
+  }
+
+  private double evictions() {
+    return meterRegistry
+      .get("cache.evictions")
+      .tag("cache", "rate-limit-buckets")
+      .functionCounter()
+      .count();
+  }
+
+  private double gauge(String name) {
+    return meterRegistry
+      .get(name)
+      .tag("cache", "rate-limit-buckets")
+      .gauge()
+      .value();
+  }
+}
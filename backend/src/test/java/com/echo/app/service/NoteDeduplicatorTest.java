@@ -0,0 +1,125 @@
+// src/test/java/com/echo/app/service/NoteDeduplicatorTest.java
+
+package com.echo.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.echo.app.exception.DuplicateNoteException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NoteDeduplicatorTest {
+
+  private static final String MESSAGE =
+    "the quick brown fox jumps over the lazy dog near the river bank";
+
+  private MeterRegistry meterRegistry;
+  private NoteDeduplicator deduplicator;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    deduplicator = deduplicator(600_000);
+  }
+
+  @Test
+  void rejectsAnExactRepeat() {
+    deduplicator.record(deduplicator.check(MESSAGE));
+
+    assertThatThrownBy(() ->
+      deduplicator.check("The QUICK brown, " + MESSAGE.substring(16))
+    )
+      .isInstanceOf(DuplicateNoteException.class)
+      .hasMessageContaining("already posted");
+    assertThat(duplicates("exact")).isEqualTo(1);
+  }
+
+  @Test
+  void rejectsAOneWordEditAsNear() {
+    deduplicator.record(deduplicator.check(MESSAGE));
+
+    assertThatThrownBy(() ->
+      deduplicator.check(MESSAGE.replace("lazy", "sleepy"))
+    )
+      .isInstanceOf(DuplicateNoteException.class)
+      .hasMessageContaining("very similar");
+    assertThat(duplicates("near")).isEqualTo(1);
+  }
+
+  @Test
+  void letsAnUnrelatedMessageThrough() {
+    deduplicator.record(deduplicator.check(MESSAGE));
+
+    assertThat(
+      deduplicator.check("meeting moved to thursday afternoon, bring slides")
+    ).isNotNull();
+  }
+
+  @Test
+  void doesNotTrackShortMessages() {
+    assertThat(deduplicator.check("thanks!")).isNull();
+    assertThat(deduplicator.check("thanks!")).isNull();
+  }
+
+  @Test
+  void rejectsACopyWhileTheFirstIsPending() {
+    assertThat(deduplicator.check(MESSAGE)).isNotNull();
+
+    assertThatThrownBy(() -> deduplicator.check(MESSAGE)).isInstanceOf(
+      DuplicateNoteException.class
+    );
+    assertThatThrownBy(() ->
+      deduplicator.check(MESSAGE.replace("lazy", "sleepy"))
+    ).isInstanceOf(DuplicateNoteException.class);
+  }
+
+  @Test
+  void releaseLetsARetryThrough() {
+    deduplicator.release(deduplicator.check(MESSAGE));
+
+    NoteDeduplicator.Fingerprint retry = deduplicator.check(MESSAGE);
+    assertThat(retry).isNotNull();
+    deduplicator.record(retry);
+    assertThatThrownBy(() -> deduplicator.check(MESSAGE)).isInstanceOf(
+      DuplicateNoteException.class
+    );
+  }
+
+  @Test
+  void remembersForHalfToTheFullWindow() throws InterruptedException {
+    deduplicator = deduplicator(1000);
+    deduplicator.record(deduplicator.check(MESSAGE));
+
+    // Past one rotation the message is still in the older generation.
+    Thread.sleep(600);
+    assertThatThrownBy(() -> deduplicator.check(MESSAGE)).isInstanceOf(
+      DuplicateNoteException.class
+    );
+
+    Thread.sleep(1200);
+    assertThat(deduplicator.check(MESSAGE)).isNotNull();
+  }
+
+  private NoteDeduplicator deduplicator(long windowMs) {
+    return new NoteDeduplicator(
+      new NoteMetrics(meterRegistry),
+      true,
+      windowMs,
+      1000,
+      0.001,
+      20,
+      6
+    );
+  }
+
+  private double duplicates(String kind) {
+    return meterRegistry
+      .get(NoteMetrics.DUPLICATES_COUNTER)
+      .tag("kind", kind)
+      .counter()
+      .count();
+  }
+}
@@ -0,0 +1,73 @@
+// src/test/java/com/echo/app/service/NoteFactoryTest.java
+
+package com.echo.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.echo.app.dto.CreateNoteRequest;
+import com.echo.app.model.Note;
+import java.util.SplittableRandom;
+import org.jsoup.Jsoup;
+import org.jsoup.safety.Safelist;
+import org.junit.jupiter.api.Test;
+
+class NoteFactoryTest {
+
+  private static final int FUZZ_INPUTS = 50_000;
+  private static final String FUZZ_ALPHABET =
+    " \t\n\r\u000b\f\u0000\u007f&<>\"'=/;#abcXYZ09\u00a0\u00e9\u200b\ufeff" +
+    "\ud83d\ude00";
+
+  @Test
+  void sanitizeMatchesJsoupOnRandomInput() {
+    SplittableRandom random = new SplittableRandom(42);
+    for (int n = 0; n < FUZZ_INPUTS; n++) {
+      String fuzzed = randomText(random);
+      String expected = Jsoup.clean(fuzzed.trim(), Safelist.simpleText());
+      assertThat(NoteFactory.sanitize(fuzzed))
+        .as("input %s", fuzzed.chars().boxed().toList())
+        .isEqualTo(expected);
+    }
+  }
+
+  @Test
+  void plainTextSkipsTheCleaner() {
+    String text = "hello, world - 100% plain";
+
+    assertThat(NoteFactory.isPlainText(text)).isTrue();
+    assertThat(NoteFactory.sanitize("  " + text + " ")).isEqualTo(text);
+  }
+
+  @Test
+  void stripsMarkupAndBlankAuthors() {
+    Note note = new NoteFactory().newNote(
+      new CreateNoteRequest("<script>x()</script><b>hi</b>", " <span></span> "),
+      "hash",
+      "agent"
+    );
+
+    assertThat(note.getMessage()).isEqualTo("<b>hi</b>");
+    assertThat(note.getAuthor()).isNull();
+    assertThat(note.getIpHash()).isEqualTo("hash");
+  }
+
+  // Mostly-printable text with a sprinkling of special characters, so that
+  // both the fast path and the fallback are exercised.
+  private static String randomText(SplittableRandom random) {
+    int length = random.nextInt(random.nextBoolean() ? 8 : 520);
+    boolean mostlyPlain = random.nextInt(3) == 0;
+    StringBuilder text = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      if (mostlyPlain && random.nextInt(10) > 0) {
+        text.append((char) random.nextInt(' ', '\u007f'));
+      } else if (random.nextInt(20) == 0) {
+        text.append((char) random.nextInt(0x10000));
+      } else {
+        text.append(
+          FUZZ_ALPHABET.charAt(random.nextInt(FUZZ_ALPHABET.length()))
+        );
+      }
+    }
+    return text.toString();
+  }
+}
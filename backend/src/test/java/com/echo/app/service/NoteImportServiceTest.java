@@ -0,0 +1,200 @@
+// src/test/java/com/echo/app/service/NoteImportServiceTest.java
+
+package com.echo.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.echo.app.model.Note;
+import com.echo.app.model.NoteView;
+import com.echo.app.repository.NoteStore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+class NoteImportServiceTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private RecordingNoteStore noteStore;
+  private NoteImportService service;
+
+  @BeforeEach
+  void setUp() {
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    noteStore = new RecordingNoteStore();
+    service = new NoteImportService(
+      noteStore,
+      new NoteFactory(),
+      new IpHasher("test-salt", 0, meterRegistry),
+      new NoteCountService(noteStore, Optional.empty()),
+      new NoteFeedCache(
+        noteStore,
+        Optional.empty(),
+        meterRegistry,
+        500,
+        1 << 20,
+        10_000
+      ),
+      new NoteSearchIndex(
+        noteStore,
+        Optional.empty(),
+        meterRegistry,
+        true,
+        1000,
+        1000
+      ),
+      Validation.buildDefaultValidatorFactory().getValidator(),
+      objectMapper,
+      meterRegistry,
+      "token",
+      3
+    );
+  }
+
+  @Test
+  void rejectsOnlyArrayItemsThatDoNotMapToARequest() throws IOException {
+    List<JsonNode> results = importNotes(
+      """
+      [
+        {"message": "first note"},
+        {"message": {"text": {"nested": [1, {"deep": true}]}}, "author": "x"},
+        42,
+        {"message": "second note", "author": "ann"}
+      ]
+      """
+    );
+
+    assertThat(results)
+      .extracting(result -> result.path("index").asInt())
+      .containsExactly(0, 1, 2, 3);
+    assertThat(results)
+      .extracting(result -> result.path("status").asText())
+      .containsExactly("created", "rejected", "rejected", "created");
+    assertThat(results.get(1).path("error").asText()).isEqualTo(
+      "Invalid JSON format"
+    );
+    assertThat(results.get(3).path("id").asText()).isEqualTo(
+      noteStore.inserted.get(1).getId()
+    );
+    assertThat(noteStore.inserted)
+      .extracting(Note::getMessage)
+      .containsExactly("first note", "second note");
+  }
+
+  @Test
+  void stopsAtATruncatedArray() throws IOException {
+    List<JsonNode> results = importNotes(
+      "[{\"message\": \"first note\"}, {\"message\": \"cut of"
+    );
+
+    assertThat(results)
+      .extracting(result -> result.path("status").asText())
+      .containsExactly("created", "rejected");
+    assertThat(noteStore.inserted).hasSize(1);
+  }
+
+  private List<JsonNode> importNotes(String body) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    service.importNotes(
+      new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+      "10.0.0.1",
+      "test",
+      out
+    );
+    List<JsonNode> results = new ArrayList<>();
+    for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+      results.add(objectMapper.readTree(line));
+    }
+    return results;
+  }
+
+  // Keeps inserted notes in memory; nothing else is used by imports.
+  private static final class RecordingNoteStore implements NoteStore {
+
+    final List<Note> inserted = new ArrayList<>();
+
+    @Override
+    public synchronized Map<Integer, String> insertUnordered(
+      List<Note> notes
+    ) {
+      inserted.addAll(notes);
+      return Map.of();
+    }
+
+    @Override
+    public <S extends Note> S save(S note) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <S extends Note> List<S> insert(Iterable<S> notes) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public long count() {
+      return inserted.size();
+    }
+
+    @Override
+    public long estimatedCount() {
+      return inserted.size();
+    }
+
+    @Override
+    public Slice<NoteView> findViewsBy(Pageable pageable) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Optional<NoteView> findViewById(String id) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<NoteView> findViewsByIdIn(Collection<String> ids) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<NoteView> findAfter(
+      Instant createdAt,
+      String id,
+      Sort.Direction direction,
+      int limit
+    ) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<NoteView> findRange(long offset, int limit, Sort sort) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Stream<NoteView> streamRange(
+      Instant from,
+      Instant to,
+      int batchSize
+    ) {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
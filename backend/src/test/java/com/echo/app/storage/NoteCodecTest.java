@@ -0,0 +1,101 @@
+// src/test/java/com/echo/app/storage/NoteCodecTest.java
+
+package com.echo.app.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.echo.app.model.Note;
+import com.echo.app.model.NoteMeta;
+import com.echo.app.model.NoteView;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class NoteCodecTest {
+
+  private static final Instant CREATED_AT = Instant.parse(
+    "2024-05-01T12:00:00.123Z"
+  );
+
+  @Test
+  void roundTripsEveryField() {
+    Note note = new Note(
+      "h\u00e9llo \ud83d\ude00",
+      "ada",
+      CREATED_AT,
+      "hash",
+      new NoteMeta("agent", null)
+    );
+    note.setId("663230a0e4b0a1b2c3d4e5f6");
+    ByteBuffer record = ByteBuffer.wrap(NoteCodec.encodeNote(note));
+
+    assertThat(NoteCodec.isValid(record, 0)).isTrue();
+    assertThat(NoteCodec.recordSize(record, 0)).isEqualTo(record.capacity());
+    assertThat(NoteCodec.type(record, 0)).isEqualTo(NoteCodec.NOTE);
+    assertThat(NoteCodec.id(record, 0)).isEqualTo(note.getId());
+    assertThat(NoteCodec.time(record, 0)).isEqualTo(CREATED_AT.toEpochMilli());
+
+    Note decoded = NoteCodec.decodeNote(record, 0);
+    assertThat(decoded.getId()).isEqualTo(note.getId());
+    assertThat(decoded.getMessage()).isEqualTo("h\u00e9llo \ud83d\ude00");
+    assertThat(decoded.getAuthor()).isEqualTo("ada");
+    assertThat(decoded.getCreatedAt()).isEqualTo(CREATED_AT);
+    assertThat(decoded.getIpHash()).isEqualTo("hash");
+    assertThat(decoded.getMeta().getUserAgent()).isEqualTo("agent");
+    assertThat(decoded.getMeta().getClientId()).isNull();
+
+    NoteView view = NoteCodec.decodeView(record, 0);
+    assertThat(view.getId()).isEqualTo(note.getId());
+    assertThat(view.getMessage()).isEqualTo("h\u00e9llo \ud83d\ude00");
+    assertThat(view.getAuthor()).isEqualTo("ada");
+    assertThat(view.getCreatedAt()).isEqualTo(CREATED_AT);
+  }
+
+  @Test
+  void roundTripsNullFields() {
+    Note note = new Note("message", null, null, null, null);
+    note.setId("a");
+
+    Note decoded = NoteCodec.decodeNote(
+      ByteBuffer.wrap(NoteCodec.encodeNote(note)),
+      0
+    );
+
+    assertThat(decoded.getAuthor()).isNull();
+    assertThat(decoded.getCreatedAt()).isNull();
+    assertThat(decoded.getIpHash()).isNull();
+    assertThat(decoded.getMeta()).isNull();
+  }
+
+  @Test
+  void encodesTombstones() {
+    ByteBuffer record = ByteBuffer.wrap(NoteCodec.encodeTombstone("a"));
+
+    assertThat(NoteCodec.isValid(record, 0)).isTrue();
+    assertThat(NoteCodec.type(record, 0)).isEqualTo(NoteCodec.TOMBSTONE);
+    assertThat(NoteCodec.id(record, 0)).isEqualTo("a");
+  }
+
+  @Test
+  void rejectsCorruptAndTornRecords() {
+    Note note = new Note("message", "ada", CREATED_AT, "hash", null);
+    note.setId("a");
+    byte[] bytes = NoteCodec.encodeNote(note);
+
+    byte[] corrupt = bytes.clone();
+    corrupt[corrupt.length - 3] ^= 1;
+    assertThat(NoteCodec.isValid(ByteBuffer.wrap(corrupt), 0)).isFalse();
+
+    ByteBuffer torn = ByteBuffer.wrap(bytes, 0, bytes.length - 1).slice();
+    assertThat(NoteCodec.isValid(torn, 0)).isFalse();
+  }
+
+  @Test
+  void zeroLengthEndsTheSegment() {
+    ByteBuffer segment = ByteBuffer.allocate(64);
+
+    assertThat(NoteCodec.recordSize(segment, 0)).isZero();
+    assertThat(NoteCodec.recordSize(segment, 60)).isZero();
+    assertThat(NoteCodec.isValid(segment, 0)).isFalse();
+  }
+}
@@ -0,0 +1,326 @@
+// src/test/java/com/echo/app/storage/NoteLogTest.java
+
+package com.echo.app.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.echo.app.model.Note;
+import com.echo.app.model.NoteView;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class NoteLogTest {
+
+  // Room for about ten notes, so the tests span several segments.
+  private static final int SEGMENT_BYTES = 1024;
+  private static final Instant EPOCH = Instant.parse("2024-05-01T00:00:00Z");
+  // The order of the MongoDB listing, ascending.
+  private static final Comparator<Note> KEY_ORDER = Comparator.comparing(
+    Note::getCreatedAt
+  ).thenComparing(Note::getId);
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void truncatesATornTailOnReopen() throws IOException {
+    List<Note> notes = notes(3, 0);
+    try (NoteLog noteLog = open(directory)) {
+      noteLog.put(notes);
+    }
+    byte[] next = NoteCodec.encodeNote(note(3, 3, "torn"));
+    writeAt(segment(directory, 1), recordBytes(notes), slice(next, 20));
+
+    Note appended = note(4, 4, "after recovery");
+    try (NoteLog noteLog = open(directory)) {
+      assertThat(noteLog.size()).isEqualTo(3);
+      noteLog.put(List.of(appended));
+    }
+    try (NoteLog noteLog = open(directory)) {
+      assertThat(ids(noteLog)).containsExactly(
+        notes.get(0).getId(),
+        notes.get(1).getId(),
+        notes.get(2).getId(),
+        appended.getId()
+      );
+      assertThat(noteLog.find(appended.getId(), NoteLog.NOTES))
+        .map(Note::getMessage)
+        .contains("after recovery");
+    }
+  }
+
+  @Test
+  void truncatesAtACorruptRecordOnReopen() throws IOException {
+    List<Note> notes = notes(3, 0);
+    try (NoteLog noteLog = open(directory)) {
+      noteLog.put(notes);
+    }
+    int second = recordBytes(notes.subList(0, 1));
+    writeAt(segment(directory, 1), second + 20, new byte[] { 0x7f });
+
+    try (NoteLog noteLog = open(directory)) {
+      assertThat(ids(noteLog)).containsExactly(notes.get(0).getId());
+      assertThat(noteLog.contains(notes.get(2).getId())).isFalse();
+    }
+  }
+
+  @Test
+  void overwritesAndDeletesSurviveReopen() throws IOException {
+    List<Note> notes = notes(25, 0);
+    Note overwritten = note(3, 3, "second version");
+    try (NoteLog noteLog = open(directory)) {
+      noteLog.put(notes);
+      noteLog.put(List.of(overwritten));
+      assertThat(noteLog.delete(notes.get(5).getId())).isTrue();
+      assertThat(noteLog.delete("missing")).isFalse();
+      assertThat(noteLog.putIfAbsent(List.of(note(7, 7, "duplicate"))))
+        .containsExactly(0);
+    }
+
+    try (NoteLog noteLog = open(directory)) {
+      assertThat(noteLog.size()).isEqualTo(24);
+      assertThat(noteLog.find(overwritten.getId(), NoteLog.NOTES))
+        .map(Note::getMessage)
+        .contains("second version");
+      assertThat(noteLog.find(notes.get(7).getId(), NoteLog.VIEWS))
+        .map(NoteView::getMessage)
+        .contains(notes.get(7).getMessage());
+      assertThat(noteLog.contains(notes.get(5).getId())).isFalse();
+      assertThat(ids(noteLog)).doesNotContain(notes.get(5).getId());
+    }
+  }
+
+  @Test
+  void discardsCompactionOutputWrittenBeforeTheMarker() throws IOException {
+    List<Note> notes = notes(25, 0);
+    try (NoteLog noteLog = open(directory)) {
+      noteLog.put(notes);
+    }
+    Path stray = directory.resolve("0000000001.log.compacted");
+    Files.write(stray, new byte[SEGMENT_BYTES]);
+
+    try (NoteLog noteLog = open(directory)) {
+      assertThat(stray).doesNotExist();
+      assertThat(ids(noteLog)).containsExactlyElementsOf(sortedIds(notes));
+    }
+  }
+
+  @Test
+  void completesACompactionInterruptedAfterTheMarker() throws IOException {
+    Path live = Files.createDirectory(directory.resolve("live"));
+    Path crashed = Files.createDirectory(directory.resolve("crashed"));
+    List<Note> notes = notes(40, 0);
+    List<String> expected;
+    try (NoteLog noteLog = open(live)) {
+      noteLog.put(notes);
+      for (Note note : notes.subList(0, 30)) {
+        noteLog.delete(note.getId());
+      }
+      noteLog.sync();
+      // The state a crash during compaction starts from.
+      copyDirectory(live, crashed);
+      int last = segmentNumbers(live).size() - 1;
+
+      assertThat(noteLog.compact(0.1)).isTrue();
+      expected = ids(noteLog);
+
+      // Stage the compacted output and marker as if the swap never ran.
+      int outputs = 0;
+      for (int number : segmentNumbers(live)) {
+        if (number <= last) {
+          Files.copy(
+            segment(live, number),
+            crashed.resolve(segment(live, number).getFileName() + ".compacted")
+          );
+          outputs++;
+        }
+      }
+      Files.write(
+        crashed.resolve("compaction-1-" + last + "-" + outputs),
+        new byte[0]
+      );
+    }
+
+    try (NoteLog noteLog = open(crashed)) {
+      assertThat(ids(noteLog)).isEqualTo(expected);
+      assertThat(segmentNumbers(crashed)).isEqualTo(segmentNumbers(live));
+      try (Stream<Path> files = Files.list(crashed)) {
+        assertThat(files.map(path -> path.getFileName().toString()))
+          .allMatch(name -> name.endsWith(".log"));
+      }
+    }
+    assertThat(expected).containsExactlyElementsOf(
+      sortedIds(notes.subList(30, 40))
+    );
+  }
+
+  @Test
+  void listsInTheSameOrderAsMongo() throws IOException {
+    List<Note> notes = new ArrayList<>();
+    Random random = new Random(7);
+    for (int i = 0; i < 60; i++) {
+      // Few distinct timestamps, so the ID breaks most ties.
+      notes.add(note(i, random.nextInt(8), "note " + i));
+    }
+    Collections.shuffle(notes, random);
+    List<String> ascending = sortedIds(notes);
+    List<String> descending = new ArrayList<>(ascending);
+    Collections.reverse(descending);
+
+    try (NoteLog noteLog = open(directory)) {
+      noteLog.put(notes);
+      assertListings(noteLog, notes, ascending, descending);
+    }
+    try (NoteLog noteLog = open(directory)) {
+      assertListings(noteLog, notes, ascending, descending);
+    }
+  }
+
+  private static void assertListings(
+    NoteLog noteLog,
+    List<Note> notes,
+    List<String> ascending,
+    List<String> descending
+  ) {
+    assertThat(ids(noteLog)).isEqualTo(ascending);
+    assertThat(idsOf(noteLog.page(0, 100, true, NoteLog.VIEWS))).isEqualTo(
+      descending
+    );
+    assertThat(idsOf(noteLog.page(20, 15, true, NoteLog.VIEWS))).isEqualTo(
+      descending.subList(20, 35)
+    );
+    assertThat(keysetWalk(noteLog, true)).isEqualTo(descending);
+    assertThat(keysetWalk(noteLog, false)).isEqualTo(ascending);
+
+    Instant from = EPOCH.plusSeconds(2);
+    Instant to = EPOCH.plusSeconds(5);
+    List<String> bounded = sortedIds(
+      notes
+        .stream()
+        .filter(note -> !note.getCreatedAt().isBefore(from))
+        .filter(note -> note.getCreatedAt().isBefore(to))
+        .toList()
+    );
+    assertThat(
+      idsOf(noteLog.scan(from, to, null, null, false, 100, NoteLog.VIEWS))
+    ).isEqualTo(bounded);
+  }
+
+  private static List<String> keysetWalk(NoteLog noteLog, boolean descending) {
+    List<String> ids = new ArrayList<>();
+    NoteView last = null;
+    while (true) {
+      List<NoteView> page = noteLog.scan(
+        null,
+        null,
+        last != null ? last.getCreatedAt() : null,
+        last != null ? last.getId() : null,
+        descending,
+        7,
+        NoteLog.VIEWS
+      );
+      if (page.isEmpty()) {
+        return ids;
+      }
+      ids.addAll(idsOf(page));
+      last = page.get(page.size() - 1);
+    }
+  }
+
+  private static NoteLog open(Path directory) throws IOException {
+    return NoteLog.open(directory, SEGMENT_BYTES, false);
+  }
+
+  private static List<String> ids(NoteLog noteLog) {
+    return idsOf(noteLog.page(0, Integer.MAX_VALUE, false, NoteLog.VIEWS));
+  }
+
+  private static List<String> idsOf(List<NoteView> views) {
+    return views.stream().map(NoteView::getId).toList();
+  }
+
+  private static List<String> sortedIds(List<Note> notes) {
+    return notes.stream().sorted(KEY_ORDER).map(Note::getId).toList();
+  }
+
+  private static List<Note> notes(int count, int firstSecond) {
+    List<Note> notes = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      notes.add(note(i, firstSecond + i, "note " + i));
+    }
+    return notes;
+  }
+
+  // IDs are fixed-width hex like ObjectIds, so they sort the same way.
+  private static Note note(int id, int second, String message) {
+    Note note = new Note(
+      message,
+      "author",
+      EPOCH.plusSeconds(second),
+      "hash",
+      null
+    );
+    note.setId(String.format("%024x", id));
+    return note;
+  }
+
+  private static int recordBytes(List<Note> notes) {
+    int bytes = 0;
+    for (Note note : notes) {
+      bytes += NoteCodec.encodeNote(note).length;
+    }
+    return bytes;
+  }
+
+  private static byte[] slice(byte[] bytes, int length) {
+    byte[] slice = new byte[length];
+    System.arraycopy(bytes, 0, slice, 0, length);
+    return slice;
+  }
+
+  private static Path segment(Path directory, int number) {
+    return directory.resolve(String.format("%010d.log", number));
+  }
+
+  private static List<Integer> segmentNumbers(Path directory)
+    throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+        .map(path -> path.getFileName().toString())
+        .filter(name -> name.endsWith(".log"))
+        .map(name -> Integer.parseInt(name.substring(0, 10)))
+        .sorted()
+        .toList();
+    }
+  }
+
+  private static void copyDirectory(Path from, Path to) throws IOException {
+    try (Stream<Path> files = Files.list(from)) {
+      for (Path file : files.toList()) {
+        Files.copy(file, to.resolve(file.getFileName()));
+      }
+    }
+  }
+
+  private static void writeAt(Path file, int offset, byte[] bytes)
+    throws IOException {
+    try (
+      FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)
+    ) {
+      channel.write(ByteBuffer.wrap(bytes), offset);
+    }
+  }
+}